@@ -0,0 +1,212 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+// Batch service solving many matrices concurrently on a fixed worker pool.
+// Each worker keeps a thread-confined, grow-only DP row, so steady-state solving
+// allocates nothing per matrix beyond the result. At most maxInFlight matrices
+// are accepted at once; submit() blocks beyond that to bound memory.
+public class BatchZeroSquareSolver implements AutoCloseable {
+    private final ExecutorService executor;
+    private final Semaphore slots;
+    private final ThreadLocal<int[]> scratch = ThreadLocal.withInitial(() -> new int[0]);
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder cellsProcessed = new LongAdder();
+    private final LongAdder scratchAllocations = new LongAdder();
+    private final LongAdder scratchBytesAllocated = new LongAdder();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final long startNanos = System.nanoTime();
+
+    public BatchZeroSquareSolver() {
+        this(Runtime.getRuntime().availableProcessors(),
+             4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchZeroSquareSolver(int threads, int maxInFlight) {
+        if (threads <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException(
+                String.format("threads (%d) and maxInFlight (%d) must be positive", threads, maxInFlight));
+        }
+        AtomicInteger ids = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "zero-square-batch-" + ids.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.slots = new Semaphore(maxInFlight);
+    }
+
+    // Blocks while maxInFlight matrices are already pending
+    public CompletableFuture<LargestZeroSubMatrix.MatrixResult> submit(byte[][] matrix)
+            throws InterruptedException {
+        slots.acquire();
+        queued.incrementAndGet();
+        submitted.increment();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queued.decrementAndGet();
+                try {
+                    return solve(matrix);
+                } finally {
+                    slots.release();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            slots.release();
+            throw e;
+        }
+    }
+
+    // Results in input order
+    public List<LargestZeroSubMatrix.MatrixResult> solveAll(Iterable<byte[][]> matrices)
+            throws InterruptedException {
+        List<CompletableFuture<LargestZeroSubMatrix.MatrixResult>> futures = new ArrayList<>();
+        for (byte[][] matrix : matrices) {
+            futures.add(submit(matrix));
+        }
+
+        List<LargestZeroSubMatrix.MatrixResult> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<LargestZeroSubMatrix.MatrixResult> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    // Results as they complete, with the input index; onResult runs on worker threads.
+    // Returns once every matrix has been reported.
+    public void solveAsCompleted(Iterable<byte[][]> matrices,
+                                 BiConsumer<Integer, LargestZeroSubMatrix.MatrixResult> onResult)
+            throws InterruptedException {
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        int index = 0;
+        for (byte[][] matrix : matrices) {
+            int position = index++;
+            pending.add(submit(matrix).thenAccept(result -> onResult.accept(position, result)));
+        }
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+    }
+
+    private LargestZeroSubMatrix.MatrixResult solve(byte[][] matrix) {
+        try {
+            int n = (matrix == null || matrix.length == 0) ? 0 : matrix[0].length;
+            LargestZeroSubMatrix.MatrixResult result =
+                LargestZeroSubMatrix.findLargestZeroSquareRolling(matrix, scratchFor(n));
+            cellsProcessed.add((long) ((matrix == null) ? 0 : matrix.length) * n);
+            completed.increment();
+            return result;
+        } catch (RuntimeException e) {
+            failed.increment();
+            throw e;
+        }
+    }
+
+    // Grow-only DP row owned by the current worker
+    private int[] scratchFor(int n) {
+        int[] buffer = scratch.get();
+        if (buffer.length < n) {
+            buffer = new int[n];
+            scratch.set(buffer);
+            scratchAllocations.increment();
+            scratchBytesAllocated.add(4L * n);
+        }
+        return buffer;
+    }
+
+    public Stats stats() {
+        return new Stats(submitted.sum(), completed.sum(), failed.sum(), queued.get(),
+                         cellsProcessed.sum(), scratchAllocations.sum(), scratchBytesAllocated.sum(),
+                         System.nanoTime() - startNanos);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    // Snapshot of the service counters
+    static class Stats {
+        long submitted, completed, failed;
+        int queueDepth;  // accepted but not yet started
+        long cellsProcessed;
+        long scratchAllocations, scratchBytesAllocated;
+        long elapsedNanos;
+
+        Stats(long submitted, long completed, long failed, int queueDepth, long cellsProcessed,
+              long scratchAllocations, long scratchBytesAllocated, long elapsedNanos) {
+            this.submitted = submitted;
+            this.completed = completed;
+            this.failed = failed;
+            this.queueDepth = queueDepth;
+            this.cellsProcessed = cellsProcessed;
+            this.scratchAllocations = scratchAllocations;
+            this.scratchBytesAllocated = scratchBytesAllocated;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        double matricesPerSecond() {
+            return completed / (elapsedNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Submitted: %d\nCompleted: %d\nFailed: %d\nQueue depth: %d\n" +
+                            "Cells processed: %d\nThroughput: %.1f matrices/s\n" +
+                            "Scratch allocations: %d (%d bytes)",
+                    submitted, completed, failed, queueDepth, cellsProcessed,
+                    matricesPerSecond(), scratchAllocations, scratchBytesAllocated);
+        }
+    }
+
+    // Compare the batch service with calling findLargestZeroSquare in a loop
+    public static void runExperiments() throws InterruptedException {
+        System.out.println("=== BATCH LARGEST ZERO SUB-MATRIX ===\n");
+
+        int[][] testSizes = {
+            {10, 10},
+            {50, 50},
+            {100, 100},
+            {200, 200}
+        };
+        int batchSize = 5000;
+        double zeroProbability = 0.7; // 70% zeros
+        Random rand = new Random(42); // Fixed seed for reproducibility
+
+        System.out.println("Matrix Size    | Loop (matrices/s) | Batch (matrices/s) | Scratch Allocs | Match");
+        System.out.println("-------------------------------------------------------------------------------");
+
+        for (int[] size : testSizes) {
+            int m = size[0];
+            int n = size[1];
+            List<byte[][]> matrices = new ArrayList<>(batchSize);
+            for (int b = 0; b < batchSize; b++) {
+                matrices.add(LargestZeroSubMatrix.generateRandomMatrix(m, n, zeroProbability, rand));
+            }
+
+            long startTime = System.nanoTime();
+            List<LargestZeroSubMatrix.MatrixResult> expected = new ArrayList<>(batchSize);
+            for (byte[][] matrix : matrices) {
+                expected.add(LargestZeroSubMatrix.findLargestZeroSquare(matrix));
+            }
+            double loopRate = batchSize / ((System.nanoTime() - startTime) / 1e9);
+
+            try (BatchZeroSquareSolver batch = new BatchZeroSquareSolver()) {
+                startTime = System.nanoTime();
+                List<LargestZeroSubMatrix.MatrixResult> actual = batch.solveAll(matrices);
+                double batchRate = batchSize / ((System.nanoTime() - startTime) / 1e9);
+
+                System.out.printf("%4d × %4d    | %17.0f | %18.0f | %14d | %s\n",
+                                m, n, loopRate, batchRate, batch.stats().scratchAllocations,
+                                expected.equals(actual) ? "YES" : "NO");
+            }
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        runExperiments();
+    }
+}
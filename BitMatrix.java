@@ -0,0 +1,126 @@
+import java.util.*;
+
+// Bit-packed 0/1 matrix: 64 cells per long, bit set = cell value 1
+public class BitMatrix {
+    private final int rows;
+    private final int cols;
+    private final int wordsPerRow;
+    private final long[] bits;  // row-major, each row padded to wordsPerRow words
+
+    public BitMatrix(int rows, int cols) {
+        if (rows < 0 || cols < 0) {
+            throw new IllegalArgumentException(
+                String.format("Invalid dimensions %d x %d", rows, cols));
+        }
+        long words = (long) rows * wordsFor(cols);
+        if (words > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                String.format("Matrix %d x %d too large to pack", rows, cols));
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.wordsPerRow = wordsFor(cols);
+        this.bits = new long[(int) words];
+    }
+
+    static int wordsFor(int cols) {
+        return (cols + 63) >>> 6;
+    }
+
+    // Mask of the valid bits in the last word of a row
+    static long lastWordMask(int cols) {
+        int rem = cols & 63;
+        return rem == 0 ? -1L : (1L << rem) - 1;
+    }
+
+    // Pack an existing byte matrix (any non-zero byte counts as 1)
+    public static BitMatrix fromBytes(byte[][] matrix) {
+        if (matrix == null || matrix.length == 0) {
+            return new BitMatrix(0, 0);
+        }
+        int m = matrix.length;
+        int n = matrix[0].length;
+        BitMatrix packed = new BitMatrix(m, n);
+        for (int i = 0; i < m; i++) {
+            if (matrix[i].length != n) {
+                throw new IllegalArgumentException("Ragged matrix at row " + i);
+            }
+            int base = i * packed.wordsPerRow;
+            for (int j = 0; j < n; j++) {
+                if (matrix[i][j] != 0) {
+                    packed.bits[base + (j >>> 6)] |= 1L << j;
+                }
+            }
+        }
+        return packed;
+    }
+
+    // Same cells as LargestZeroSubMatrix.generateRandomMatrix for the same Random state,
+    // but without materializing the byte[][]
+    public static BitMatrix generateRandom(int m, int n, double zeroProbability, Random rand) {
+        BitMatrix packed = new BitMatrix(m, n);
+        for (int i = 0; i < m; i++) {
+            int base = i * packed.wordsPerRow;
+            for (int j = 0; j < n; j++) {
+                if (rand.nextDouble() >= zeroProbability) {
+                    packed.bits[base + (j >>> 6)] |= 1L << j;
+                }
+            }
+        }
+        return packed;
+    }
+
+    public byte[][] toBytes() {
+        byte[][] matrix = new byte[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                matrix[i][j] = (byte) get(i, j);
+            }
+        }
+        return matrix;
+    }
+
+    public int get(int row, int col) {
+        checkIndex(row, col);
+        return (int) (bits[row * wordsPerRow + (col >>> 6)] >>> col) & 1;
+    }
+
+    public void set(int row, int col, int value) {
+        checkIndex(row, col);
+        int w = row * wordsPerRow + (col >>> 6);
+        if (value != 0) {
+            bits[w] |= 1L << col;
+        } else {
+            bits[w] &= ~(1L << col);
+        }
+    }
+
+    private void checkIndex(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException(
+                String.format("(%d, %d) outside %d x %d matrix", row, col, rows, cols));
+        }
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public int wordsPerRow() {
+        return wordsPerRow;
+    }
+
+    // Raw packed words; shared, not copied
+    long[] words() {
+        return bits;
+    }
+
+    // Calculate memory usage of the packed cells
+    public long memoryBytes() {
+        return (long) bits.length * 8;
+    }
+}
@@ -0,0 +1,228 @@
+import java.util.*;
+
+// Largest zero square maintained under single-cell updates.
+// Wraps the full DP table; set() only recomputes cells to the bottom-right of
+// the change and stops as soon as a row produces no DP change. The maximum is
+// tracked with a count per square size plus lazily refreshed per-row maxima,
+// so currentLargest() never rescans the whole table.
+public class DynamicZeroSquare {
+    private final int m, n;
+    private final byte[][] matrix;
+    private final int[][] dp;  // dp[i][j] = size of largest square with bottom-right at (i,j)
+
+    private final int[] sizeCounts;  // number of cells per dp value
+    private int maxSize;             // upper bound, lowered lazily while its count is 0
+
+    private final int[] rowMax;      // max dp value per row, valid unless the row is dirty
+    private final BitSet dirtyRows = new BitSet();
+
+    private LargestZeroSubMatrix.MatrixResult cached;
+    private long cellsRecomputed;
+
+    public DynamicZeroSquare(byte[][] source) {
+        if (source == null || source.length == 0 || source[0].length == 0) {
+            throw new IllegalArgumentException("Matrix must be non-empty");
+        }
+        this.m = source.length;
+        this.n = source[0].length;
+        this.matrix = new byte[m][];
+        for (int i = 0; i < m; i++) {
+            if (source[i].length != n) {
+                throw new IllegalArgumentException("Ragged matrix at row " + i);
+            }
+            matrix[i] = source[i].clone();
+        }
+        this.dp = new int[m][n];
+        this.sizeCounts = new int[Math.min(m, n) + 1];
+        this.rowMax = new int[m];
+
+        // Fill the DP table
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                int value = compute(i, j);
+                dp[i][j] = value;
+                sizeCounts[value]++;
+                rowMax[i] = Math.max(rowMax[i], value);
+            }
+            maxSize = Math.max(maxSize, rowMax[i]);
+        }
+    }
+
+    private int compute(int i, int j) {
+        if (matrix[i][j] != 0) {
+            return 0;
+        }
+        if (i == 0 || j == 0) {
+            return 1;
+        }
+        return 1 + Math.min(dp[i-1][j-1], Math.min(dp[i-1][j], dp[i][j-1]));
+    }
+
+    // Store a recomputed value; returns whether it changed
+    private boolean store(int i, int j, int value) {
+        int old = dp[i][j];
+        if (old == value) {
+            return false;
+        }
+        dp[i][j] = value;
+        sizeCounts[old]--;
+        sizeCounts[value]++;
+        if (value > maxSize) {
+            maxSize = value;
+        }
+        dirtyRows.set(i);
+        return true;
+    }
+
+    public int get(int row, int col) {
+        return matrix[row][col];
+    }
+
+    public void set(int row, int col, int value) {
+        if (row < 0 || row >= m || col < 0 || col >= n) {
+            throw new IndexOutOfBoundsException(
+                String.format("(%d, %d) outside %d x %d matrix", row, col, m, n));
+        }
+        byte cell = (value != 0) ? (byte)1 : (byte)0;
+        if (matrix[row][col] == cell) {
+            return;
+        }
+        matrix[row][col] = cell;
+        cached = null;
+
+        // Columns [lo, hi] of row i must be recomputed; anything right of hi
+        // only needs it while its left neighbour keeps changing
+        int lo = col, hi = col;
+        for (int i = row; i < m; i++) {
+            int changedLo = -1, changedHi = -1;
+            boolean leftChanged = false;
+
+            for (int j = lo; j < n; j++) {
+                if (j > hi && !leftChanged) break;
+                cellsRecomputed++;
+                leftChanged = store(i, j, compute(i, j));
+                if (leftChanged) {
+                    if (changedLo < 0) changedLo = j;
+                    changedHi = j;
+                }
+            }
+
+            if (changedLo < 0) break;
+            // (i+1, j) sees a changed up neighbour, (i+1, j+1) a changed diagonal
+            lo = changedLo;
+            hi = changedHi + 1;
+        }
+    }
+
+    // Same result as LargestZeroSubMatrix.findLargestZeroSquare on the current cells
+    public LargestZeroSubMatrix.MatrixResult currentLargest() {
+        if (cached != null) {
+            return cached;
+        }
+        while (maxSize > 0 && sizeCounts[maxSize] == 0) {
+            maxSize--;
+        }
+        cached = locate(maxSize);
+        return cached;
+    }
+
+    private LargestZeroSubMatrix.MatrixResult locate(int size) {
+        if (size == 0) {
+            return new LargestZeroSubMatrix.MatrixResult(0, -1, -1);
+        }
+
+        if (size == 1) {
+            // Mirror findLargestZeroSquare's scan order: first row, then first column
+            for (int j = 0; j < n; j++) {
+                if (dp[0][j] == 1) return new LargestZeroSubMatrix.MatrixResult(1, 0, j);
+            }
+            for (int i = 1; i < m; i++) {
+                if (dp[i][0] == 1) return new LargestZeroSubMatrix.MatrixResult(1, i, 0);
+            }
+        }
+
+        // Earliest bottom-right corner in row-major order
+        for (int i = size - 1; i < m; i++) {
+            if (rowMax(i) < size) continue;
+            for (int j = size - 1; j < n; j++) {
+                if (dp[i][j] == size) {
+                    return new LargestZeroSubMatrix.MatrixResult(size, i - size + 1, j - size + 1);
+                }
+            }
+        }
+
+        throw new IllegalStateException("No cell with dp value " + size);
+    }
+
+    private int rowMax(int i) {
+        if (dirtyRows.get(i)) {
+            int max = 0;
+            for (int j = 0; j < n; j++) {
+                max = Math.max(max, dp[i][j]);
+            }
+            rowMax[i] = max;
+            dirtyRows.clear(i);
+        }
+        return rowMax[i];
+    }
+
+    public long cellsRecomputed() {
+        return cellsRecomputed;
+    }
+
+    // Compare update+query against full recomputation for sparse update streams
+    public static void runExperiments() {
+        System.out.println("=== INCREMENTAL LARGEST ZERO SUB-MATRIX ===\n");
+
+        int[][] testSizes = {
+            {100, 100},
+            {500, 500},
+            {1000, 1000},
+            {2000, 2000}
+        };
+        int updates = 1000;
+        int fullRecomputes = 10;
+        double zeroProbability = 0.7; // 70% zeros
+        Random rand = new Random(42); // Fixed seed for reproducibility
+
+        System.out.println("Matrix Size    | Update+Query (us) | Cells/Update | Full DP (us) | Speedup | Match");
+        System.out.println("------------------------------------------------------------------------------------");
+
+        for (int[] size : testSizes) {
+            int m = size[0];
+            int n = size[1];
+            byte[][] matrix = LargestZeroSubMatrix.generateRandomMatrix(m, n, zeroProbability, rand);
+            DynamicZeroSquare dynamic = new DynamicZeroSquare(matrix);
+
+            // Sparse stream: random cells flipped to a fresh random value
+            long startTime = System.nanoTime();
+            for (int u = 0; u < updates; u++) {
+                int row = rand.nextInt(m);
+                int col = rand.nextInt(n);
+                int value = (rand.nextDouble() < zeroProbability) ? 0 : 1;
+                dynamic.set(row, col, value);
+                matrix[row][col] = (byte) value;
+                dynamic.currentLargest();
+            }
+            long incrementalTime = System.nanoTime() - startTime;
+
+            LargestZeroSubMatrix.MatrixResult expected = null;
+            startTime = System.nanoTime();
+            for (int r = 0; r < fullRecomputes; r++) {
+                expected = LargestZeroSubMatrix.findLargestZeroSquare(matrix);
+            }
+            long fullTime = System.nanoTime() - startTime;
+
+            double perUpdate = incrementalTime / (double) updates / 1000.0;
+            double perFull = fullTime / (double) fullRecomputes / 1000.0;
+            System.out.printf("%4d × %4d    | %17.2f | %12.1f | %12.2f | %6.1fx | %s\n",
+                            m, n, perUpdate, dynamic.cellsRecomputed() / (double) updates,
+                            perFull, perFull / perUpdate,
+                            expected.equals(dynamic.currentLargest()) ? "YES" : "NO");
+        }
+    }
+
+    public static void main(String[] args) {
+        runExperiments();
+    }
+}
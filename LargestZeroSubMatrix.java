@@ -1,5 +1,6 @@
 import java.util.*;
 import java.io.*;
+import java.nio.*;
 
 public class LargestZeroSubMatrix {
     
@@ -19,6 +20,175 @@ public class LargestZeroSubMatrix {
             return String.format("Largest zero sub-matrix: %d×%d at position (%d, %d)", 
                                 size, size, row, col);
         }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof MatrixResult)) return false;
+            MatrixResult other = (MatrixResult) o;
+            return size == other.size && row == other.row && col == other.col;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(size, row, col);
+        }
+    }
+
+    // Result class for the largest all-zero rectangle
+    static class RectangleResult {
+        int height, width;  // height×width rectangle
+        int row, col;       // Top-left corner position
+
+        RectangleResult(int height, int width, int row, int col) {
+            this.height = height;
+            this.width = width;
+            this.row = row;
+            this.col = col;
+        }
+
+        long area() {
+            return (long) height * width;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Largest zero rectangle: %d×%d at position (%d, %d)",
+                                height, width, row, col);
+        }
+    }
+
+    // Result class for the combined rectangle and top-K squares query
+    static class ZeroRegionsResult {
+        RectangleResult rectangle;
+        List<MatrixResult> squares;  // maximal zero squares, largest first
+
+        ZeroRegionsResult(RectangleResult rectangle, List<MatrixResult> squares) {
+            this.rectangle = rectangle;
+            this.squares = squares;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(rectangle.toString());
+            for (int i = 0; i < squares.size(); i++) {
+                sb.append(String.format("\n#%d %s", i + 1, squares.get(i)));
+            }
+            return sb.toString();
+        }
+    }
+
+    // Row-at-a-time solver: keeps a single DP row plus a diagonal carry,
+    // so callers can push rows without ever building the whole byte[][]
+    static class RowSolver {
+        private final int n;
+        private final int[] dp;  // dp[j] = square size ending at (current row, j)
+        private int rowsSeen = 0;
+
+        // Track the maximum size and its bottom-right position
+        private int maxSize = 0;
+        private int maxRow = -1, maxCol = -1;
+
+        RowSolver(int n) {
+            this(new int[Math.max(n, 0)], n);
+        }
+
+        // Reuse a caller-owned DP row; only its first n entries are used
+        RowSolver(int[] scratch, int n) {
+            if (n < 0) {
+                throw new IllegalArgumentException("Row length must be non-negative: " + n);
+            }
+            if (scratch.length < n) {
+                throw new IllegalArgumentException(
+                    String.format("Scratch row of length %d is shorter than %d", scratch.length, n));
+            }
+            this.n = n;
+            this.dp = scratch;
+            Arrays.fill(scratch, 0, n, 0);
+        }
+
+        public void pushRow(byte[] row) {
+            if (row.length != n) {
+                throw new IllegalArgumentException(
+                    String.format("Expected row of length %d, got %d", n, row.length));
+            }
+
+            int i = rowsSeen++;
+            int diag = 0;  // dp[i-1][j-1], carried before dp[j-1] is overwritten
+            int left = 0;  // dp[i][j-1]
+
+            for (int j = 0; j < n; j++) {
+                int up = dp[j];
+                int value;
+                if (row[j] != 0) {
+                    value = 0;
+                } else if (i == 0 || j == 0) {
+                    value = 1;
+                } else {
+                    value = 1 + Math.min(diag, Math.min(up, left));
+                }
+
+                diag = up;
+                left = value;
+                dp[j] = value;
+                track(value, i, j);
+            }
+        }
+
+        // Same as pushRow(byte[]), reading n cells from buffer at offset without copying
+        public void pushRow(ByteBuffer buffer, int offset) {
+            if (offset < 0 || offset > buffer.limit() - n) {
+                throw new IndexOutOfBoundsException(
+                    String.format("Row of length %d at offset %d exceeds buffer limit %d",
+                                  n, offset, buffer.limit()));
+            }
+
+            int i = rowsSeen++;
+            int diag = 0;  // dp[i-1][j-1], carried before dp[j-1] is overwritten
+            int left = 0;  // dp[i][j-1]
+
+            for (int j = 0; j < n; j++) {
+                int up = dp[j];
+                int value;
+                if (buffer.get(offset + j) != 0) {
+                    value = 0;
+                } else if (i == 0 || j == 0) {
+                    value = 1;
+                } else {
+                    value = 1 + Math.min(diag, Math.min(up, left));
+                }
+
+                diag = up;
+                left = value;
+                dp[j] = value;
+                track(value, i, j);
+            }
+        }
+
+        private void track(int value, int i, int j) {
+            if (value > maxSize) {
+                maxSize = value;
+                maxRow = i;
+                maxCol = j;
+            } else if (value == 1 && maxSize == 1 && j == 0 && maxRow > 0 && maxCol > 0) {
+                // findLargestZeroSquare scans the first column before the interior,
+                // so a 1x1 in column 0 wins over an earlier interior 1x1
+                maxRow = i;
+                maxCol = 0;
+            }
+        }
+
+        public int rowsSeen() {
+            return rowsSeen;
+        }
+
+        public MatrixResult result() {
+            if (maxSize == 0) {
+                return new MatrixResult(0, -1, -1);
+            }
+            // Calculate top-left corner from bottom-right corner
+            return new MatrixResult(maxSize, maxRow - maxSize + 1, maxCol - maxSize + 1);
+        }
     }
     
     // Main DP algorithm to find largest zero square sub-matrix
@@ -29,6 +199,7 @@ public class LargestZeroSubMatrix {
         
         int m = matrix.length;
         int n = matrix[0].length;
+        SolverMetrics.Probe probe = SolverMetrics.beginZeroSquare(m, n);
         
         // DP table: dp[i][j] = size of largest square with bottom-right at (i,j)
         int[][] dp = new int[m][n];
@@ -36,6 +207,7 @@ public class LargestZeroSubMatrix {
         // Track the maximum size and position
         int maxSize = 0;
         int maxRow = -1, maxCol = -1;
+        if (probe != null) probe.mark();
         
         // Initialize first row
         for (int j = 0; j < n; j++) {
@@ -75,6 +247,7 @@ public class LargestZeroSubMatrix {
                 }
             }
         }
+        if (probe != null) probe.mark();
         
         // Calculate top-left corner from bottom-right corner
         if (maxSize > 0) {
@@ -82,9 +255,453 @@ public class LargestZeroSubMatrix {
             maxCol = maxCol - maxSize + 1;
         }
         
-        return new MatrixResult(maxSize, maxRow, maxCol);
+        MatrixResult result = new MatrixResult(maxSize, maxRow, maxCol);
+        if (probe != null) {
+            probe.mark();
+            SolverMetrics.endZeroSquare(probe, result);
+        }
+        return result;
     }
     
+    // Same result as findLargestZeroSquare, but keeps only one DP row (O(n) ints)
+    public static MatrixResult findLargestZeroSquareRolling(byte[][] matrix) {
+        if (matrix == null || matrix.length == 0 || matrix[0].length == 0) {
+            return new MatrixResult(0, -1, -1);
+        }
+
+        return findLargestZeroSquareRolling(matrix, new int[matrix[0].length]);
+    }
+
+    // Rolling-row solver writing into a caller-owned scratch row of at least n ints
+    public static MatrixResult findLargestZeroSquareRolling(byte[][] matrix, int[] scratch) {
+        if (matrix == null || matrix.length == 0 || matrix[0].length == 0) {
+            return new MatrixResult(0, -1, -1);
+        }
+
+        RowSolver solver = new RowSolver(scratch, matrix[0].length);
+        for (byte[] row : matrix) {
+            solver.pushRow(row);
+        }
+        return solver.result();
+    }
+
+    // The SIMD kernel needs the incubator module (--add-modules jdk.incubator.vector)
+    private static final boolean VECTOR_API_AVAILABLE =
+        ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    // Same result as findLargestZeroSquare using the Vector API row kernel,
+    // or the scalar rolling-row kernel when the incubator module is not loaded
+    public static MatrixResult findLargestZeroSquareVectorized(byte[][] matrix) {
+        if (VECTOR_API_AVAILABLE) {
+            return VectorZeroSquare.findLargestZeroSquare(matrix);
+        }
+        return findLargestZeroSquareRolling(matrix);
+    }
+
+    public static boolean isVectorApiAvailable() {
+        return VECTOR_API_AVAILABLE;
+    }
+
+    // Largest all-zero rectangle
+    public static RectangleResult findLargestZeroRectangle(byte[][] matrix) {
+        return findZeroRegions(matrix, 0).rectangle;
+    }
+
+    // One pass computing both the largest all-zero rectangle and the k largest
+    // maximal zero squares (squares not contained in any other zero square).
+    // All working storage is allocated up front; nothing is allocated per cell.
+    public static ZeroRegionsResult findZeroRegions(byte[][] matrix, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be non-negative: " + k);
+        }
+        if (matrix == null || matrix.length == 0 || matrix[0].length == 0) {
+            return new ZeroRegionsResult(new RectangleResult(0, 0, -1, -1), new ArrayList<>());
+        }
+
+        int m = matrix.length;
+        int n = matrix[0].length;
+
+        // Rectangle: column heights of zero runs plus a monotonic stack of column indices
+        int[] heights = new int[n];
+        int[] stack = new int[n + 1];
+        long bestArea = 0;
+        int rectHeight = 0, rectWidth = 0, rectRow = -1, rectCol = -1;
+
+        // Squares: two rolling DP rows (with a zero sentinel column) and a bounded heap
+        int[] prev = new int[n + 1];
+        int[] cur = new int[n + 1];
+        SquareHeap heap = new SquareHeap(k, n);
+
+        for (int i = 0; i < m; i++) {
+            byte[] row = matrix[i];
+
+            // Square DP for row i
+            int diag = 0;
+            for (int j = 0; j < n; j++) {
+                int up = prev[j];
+                if (row[j] != 0) {
+                    cur[j] = 0;
+                    heights[j] = 0;
+                } else {
+                    cur[j] = (i == 0 || j == 0) ? 1 : 1 + Math.min(diag, Math.min(up, cur[j-1]));
+                    heights[j]++;
+                }
+                diag = up;
+            }
+
+            // Squares ending on row i-1 are final once row i is known
+            if (k > 0 && i > 0) {
+                offerMaximalSquares(heap, prev, cur, i - 1);
+            }
+
+            // Largest rectangle in the histogram of row i
+            int top = 0;
+            for (int j = 0; j <= n; j++) {
+                int h = (j < n) ? heights[j] : 0;
+                while (top > 0 && heights[stack[top - 1]] >= h) {
+                    int height = heights[stack[--top]];
+                    int left = (top > 0) ? stack[top - 1] + 1 : 0;
+                    long area = (long) height * (j - left);
+                    if (area > bestArea) {
+                        bestArea = area;
+                        rectHeight = height;
+                        rectWidth = j - left;
+                        rectRow = i - height + 1;
+                        rectCol = left;
+                    }
+                }
+                stack[top++] = j;
+            }
+
+            int[] tmp = prev; prev = cur; cur = tmp;
+        }
+
+        if (k > 0) {
+            Arrays.fill(cur, 0);
+            offerMaximalSquares(heap, prev, cur, m - 1);
+        }
+
+        return new ZeroRegionsResult(new RectangleResult(rectHeight, rectWidth, rectRow, rectCol),
+                                     heap.drainLargestFirst());
+    }
+
+    // A square of size s ending at (i,j) is maximal iff no neighbour to the right,
+    // below or diagonally below-right ends a square of size s+1
+    private static void offerMaximalSquares(SquareHeap heap, int[] row, int[] below, int i) {
+        int n = row.length - 1;
+        for (int j = 0; j < n; j++) {
+            int size = row[j];
+            if (size == 0 || !heap.accepts(size)) continue;
+            if (row[j+1] <= size && below[j] <= size && below[j+1] <= size) {
+                heap.offer(size, i, j);
+            }
+        }
+    }
+
+    // Bounded min-heap of squares on primitive arrays. Candidates arrive in
+    // row-major order of their bottom-right corner, so among equal sizes the
+    // earlier one wins and the root is the latest of the smallest.
+    private static class SquareHeap {
+        private final int capacity;
+        private final int n;
+        private final int[] sizes, rows, cols;
+        private int count = 0;
+
+        SquareHeap(int capacity, int n) {
+            this.capacity = capacity;
+            this.n = n;
+            this.sizes = new int[capacity];
+            this.rows = new int[capacity];
+            this.cols = new int[capacity];
+        }
+
+        boolean accepts(int size) {
+            return capacity > 0 && (count < capacity || size > sizes[0]);
+        }
+
+        void offer(int size, int row, int col) {
+            if (count < capacity) {
+                sizes[count] = size;
+                rows[count] = row;
+                cols[count] = col;
+                siftUp(count++);
+            } else {
+                sizes[0] = size;
+                rows[0] = row;
+                cols[0] = col;
+                siftDown(0);
+            }
+        }
+
+        // a ranks below b: smaller, or same size but later in row-major order
+        private boolean worse(int a, int b) {
+            if (sizes[a] != sizes[b]) return sizes[a] < sizes[b];
+            return (long) rows[a] * n + cols[a] > (long) rows[b] * n + cols[b];
+        }
+
+        private void siftUp(int idx) {
+            while (idx > 0) {
+                int parent = (idx - 1) / 2;
+                if (!worse(idx, parent)) break;
+                swap(idx, parent);
+                idx = parent;
+            }
+        }
+
+        private void siftDown(int idx) {
+            while (true) {
+                int left = 2 * idx + 1;
+                if (left >= count) break;
+                int child = (left + 1 < count && worse(left + 1, left)) ? left + 1 : left;
+                if (!worse(child, idx)) break;
+                swap(idx, child);
+                idx = child;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int t = sizes[a]; sizes[a] = sizes[b]; sizes[b] = t;
+            t = rows[a]; rows[a] = rows[b]; rows[b] = t;
+            t = cols[a]; cols[a] = cols[b]; cols[b] = t;
+        }
+
+        List<MatrixResult> drainLargestFirst() {
+            MatrixResult[] out = new MatrixResult[count];
+            while (count > 0) {
+                int size = sizes[0];
+                // Calculate top-left corner from bottom-right corner
+                out[count - 1] = new MatrixResult(size, rows[0] - size + 1, cols[0] - size + 1);
+                count--;
+                if (count > 0) {
+                    swap(0, count);
+                    siftDown(0);
+                }
+            }
+            return new ArrayList<>(Arrays.asList(out));
+        }
+    }
+
+    // Word-parallel solver on a bit-packed matrix.
+    // S_k marks every top-left corner of an all-zero k×k square. For d <= k a
+    // (k+d)×(k+d) square is covered by four k×k squares offset by d, so
+    //   S_{k+d}[i] = S_k[i] & S_k[i+d] & (S_k[i] >> d) & (S_k[i+d] >> d)
+    // Doubling k and then refining by halving steps takes O(log k) passes,
+    // each O(m × n / 64) word operations.
+    public static MatrixResult findLargestZeroSquarePacked(BitMatrix matrix) {
+        int m = matrix.rows();
+        int n = matrix.cols();
+        if (m == 0 || n == 0) {
+            return new MatrixResult(0, -1, -1);
+        }
+
+        int words = matrix.wordsPerRow();
+        long[] ones = matrix.words();
+        long lastMask = BitMatrix.lastWordMask(n);
+
+        // S_1: the zero cells themselves
+        long[] cur = new long[ones.length];
+        boolean anyZero = false;
+        for (int i = 0; i < m; i++) {
+            int base = i * words;
+            for (int w = 0; w < words; w++) {
+                long zeros = ~ones[base + w];
+                if (w == words - 1) {
+                    zeros &= lastMask;
+                }
+                cur[base + w] = zeros;
+                anyZero |= zeros != 0;
+            }
+        }
+        if (!anyZero) {
+            return new MatrixResult(0, -1, -1);
+        }
+
+        long[] next = new long[ones.length];
+        int limit = Math.min(m, n);
+        int size = 1;
+
+        // Doubling phase: answer ends up in [size, 2*size)
+        while (2 * size <= limit && growSquares(cur, next, m, words, size, size)) {
+            long[] tmp = cur; cur = next; next = tmp;
+            size *= 2;
+        }
+
+        // Refinement phase: each step is at most the current size
+        for (int step = size / 2; step >= 1; step /= 2) {
+            if (size + step <= limit && growSquares(cur, next, m, words, size, step)) {
+                long[] tmp = cur; cur = next; next = tmp;
+                size += step;
+            }
+        }
+
+        if (size == 1) {
+            // Mirror findLargestZeroSquare's scan order: first row, then first column
+            for (int w = 0; w < words; w++) {
+                if (cur[w] != 0) {
+                    return new MatrixResult(1, 0, (w << 6) + Long.numberOfTrailingZeros(cur[w]));
+                }
+            }
+            for (int i = 1; i < m; i++) {
+                if ((cur[i * words] & 1L) != 0) {
+                    return new MatrixResult(1, i, 0);
+                }
+            }
+        }
+
+        // First top-left corner in row-major order has the earliest bottom-right corner
+        for (int i = 0; i <= m - size; i++) {
+            int base = i * words;
+            for (int w = 0; w < words; w++) {
+                if (cur[base + w] != 0) {
+                    return new MatrixResult(size, i, (w << 6) + Long.numberOfTrailingZeros(cur[base + w]));
+                }
+            }
+        }
+
+        // Unreachable: the last successful pass left at least one bit set
+        throw new IllegalStateException("Lost square of size " + size);
+    }
+
+    // dst = S_{k+d} from src = S_k; returns whether any square of size k+d exists
+    private static boolean growSquares(long[] src, long[] dst, int m, int words, int k, int d) {
+        int q = d >>> 6;
+        int r = d & 63;
+        boolean any = false;
+
+        for (int i = 0; i + k + d <= m; i++) {
+            int top = i * words;
+            int bottom = (i + d) * words;
+            for (int w = 0; w < words; w++) {
+                // Both rows must start a k-square at j and at j + d
+                long both = src[top + w] & src[bottom + w];
+                if (both == 0) {
+                    dst[top + w] = 0;
+                    continue;
+                }
+
+                long lo = (w + q < words) ? src[top + w + q] & src[bottom + w + q] : 0L;
+                long shifted;
+                if (r == 0) {
+                    shifted = lo;
+                } else {
+                    long hi = (w + q + 1 < words) ? src[top + w + q + 1] & src[bottom + w + q + 1] : 0L;
+                    shifted = (lo >>> r) | (hi << (64 - r));
+                }
+
+                long result = both & shifted;
+                dst[top + w] = result;
+                any |= result != 0;
+            }
+        }
+        return any;
+    }
+
+    // Run-length solver for mostly-one matrices. zeroRuns[i] lists the zero intervals
+    // of row i as sorted pairs start0, end0, start1, end1, ... (end exclusive).
+    // DP values are only computed inside zero runs, so the work grows with the number
+    // of zero cells rather than m × n. A run no longer than the best square so far is
+    // skipped entirely: every square crossing that row inside it fits within the run.
+    public static MatrixResult findLargestZeroSquareRuns(int[][] zeroRuns, int n) {
+        int m = zeroRuns.length;
+        if (m == 0 || n == 0) {
+            return new MatrixResult(0, -1, -1);
+        }
+
+        // Two dense DP rows, only ever written inside runs; runs last written into each
+        // are remembered so the row can be cleared in O(run cells) before reuse
+        int[] prev = new int[n];
+        int[] cur = new int[n];
+        int[] curRuns = new int[0];
+
+        int maxSize = 0;
+        int maxRow = -1, maxCol = -1;
+
+        for (int i = 0; i < m; i++) {
+            int[] runs = zeroRuns[i];
+            if ((runs.length & 1) != 0) {
+                throw new IllegalArgumentException("Odd run list length in row " + i);
+            }
+            for (int r = 0; r < curRuns.length; r += 2) {
+                Arrays.fill(cur, curRuns[r], curRuns[r + 1], 0);
+            }
+
+            int lastEnd = 0;
+            for (int r = 0; r < runs.length; r += 2) {
+                int start = runs[r];
+                int end = runs[r + 1];
+                if (start < lastEnd || end <= start || end > n) {
+                    throw new IllegalArgumentException(String.format(
+                        "Bad zero run [%d, %d) in row %d of width %d", start, end, i, n));
+                }
+                lastEnd = end;
+                if (end - start <= maxSize) continue;
+
+                int left = 0;
+                for (int j = start; j < end; j++) {
+                    int diag = (j > 0) ? prev[j - 1] : 0;
+                    int value = 1 + Math.min(diag, Math.min(prev[j], left));
+                    cur[j] = value;
+                    left = value;
+
+                    if (value > maxSize) {
+                        maxSize = value;
+                        maxRow = i;
+                        maxCol = j;
+                    }
+                }
+            }
+
+            int[] tmp = prev; prev = cur; cur = tmp;
+            curRuns = (i > 0) ? zeroRuns[i - 1] : new int[0];
+        }
+
+        if (maxSize == 1 && maxRow > 0 && maxCol > 0) {
+            // findLargestZeroSquare scans the first column before the interior
+            for (int i = 1; i < m; i++) {
+                if (zeroRuns[i].length > 0 && zeroRuns[i][0] == 0) {
+                    return new MatrixResult(1, i, 0);
+                }
+            }
+        }
+
+        // Calculate top-left corner from bottom-right corner
+        if (maxSize > 0) {
+            maxRow = maxRow - maxSize + 1;
+            maxCol = maxCol - maxSize + 1;
+        }
+        return new MatrixResult(maxSize, maxRow, maxCol);
+    }
+
+    // Zero intervals of each row, in the layout findLargestZeroSquareRuns takes
+    public static int[][] encodeZeroRuns(byte[][] matrix) {
+        int[][] zeroRuns = new int[matrix.length][];
+        for (int i = 0; i < matrix.length; i++) {
+            byte[] row = matrix[i];
+            int count = 0;
+            for (int j = 0; j < row.length; j++) {
+                if (row[j] == 0 && (j == 0 || row[j - 1] != 0)) count++;
+            }
+
+            int[] runs = new int[2 * count];
+            int r = 0;
+            for (int j = 0; j < row.length; j++) {
+                if (row[j] != 0) continue;
+                int start = j;
+                while (j < row.length && row[j] == 0) j++;
+                runs[r++] = start;
+                runs[r++] = j;
+            }
+            zeroRuns[i] = runs;
+        }
+        return zeroRuns;
+    }
+
+    // Calculate memory usage of the packed solver
+    public static long calculatePackedMemoryUsage(int m, int n) {
+        // Packed input plus two packed S_k buffers: 3 * m * ceil(n/64) longs
+        return 3L * m * BitMatrix.wordsFor(n) * 8;
+    }
+
     // Generate random boolean matrix
     public static byte[][] generateRandomMatrix(int m, int n, double zeroProbability, Random rand) {
         byte[][] matrix = new byte[m][n];
@@ -96,6 +713,24 @@ public class LargestZeroSubMatrix {
         return matrix;
     }
     
+    // Mostly-one matrix with rectangular zero pockets of random sides in [1, maxPocketSize]
+    public static byte[][] generateClusteredMatrix(int m, int n, int pockets, int maxPocketSize, Random rand) {
+        byte[][] matrix = new byte[m][n];
+        for (byte[] row : matrix) {
+            Arrays.fill(row, (byte)1);
+        }
+        for (int p = 0; p < pockets; p++) {
+            int height = 1 + rand.nextInt(Math.min(maxPocketSize, m));
+            int width = 1 + rand.nextInt(Math.min(maxPocketSize, n));
+            int row = rand.nextInt(m - height + 1);
+            int col = rand.nextInt(n - width + 1);
+            for (int i = row; i < row + height; i++) {
+                Arrays.fill(matrix[i], col, col + width, (byte)0);
+            }
+        }
+        return matrix;
+    }
+    
     // Print matrix for debugging (only for small matrices)
     public static void printMatrix(byte[][] matrix, MatrixResult result) {
         if (matrix.length > 20 || matrix[0].length > 20) {
@@ -128,6 +763,13 @@ public class LargestZeroSubMatrix {
         // Total = m*n*5 bytes
         return (long)m * n * 5;
     }
+
+    // Calculate memory usage of the rolling-row solver
+    public static long calculateRollingMemoryUsage(int m, int n) {
+        // Input matrix: m*n bytes
+        // DP row: n*4 bytes (int array)
+        return (long)m * n + (long)n * 4;
+    }
     
     // Run experiments
     public static void runExperiments() {
@@ -147,6 +789,7 @@ public class LargestZeroSubMatrix {
         MatrixResult exampleResult = findLargestZeroSquare(example);
         printMatrix(example, exampleResult);
         System.out.println(exampleResult);
+        System.out.println(findZeroRegions(example, 3));
         
         // Run experiments with different matrix sizes
         System.out.println("\n\n=== PERFORMANCE EXPERIMENTS ===\n");
@@ -224,6 +867,129 @@ public class LargestZeroSubMatrix {
         System.out.println("\n=== MEMORY USAGE GRAPH (ASCII) ===");
         printAsciiGraph(sizes, memories, "Matrix Size (m×n)", "Memory (MB)");
     }
+
+    // Compare the bit-packed solver against the DP on larger matrices
+    public static void runPackedExperiments() {
+        System.out.println("\n\n=== PACKED vs DP SOLVER ===\n");
+
+        int[][] testSizes = {
+            {1000, 1000},
+            {2000, 2000},
+            {5000, 5000}
+        };
+        double[] zeroProbabilities = {0.7, 0.95};
+        int trials = 3;
+
+        System.out.println("Matrix Size    | P(zero) | Max Square | DP (ms)   | Packed (ms) | DP (MB)  | Packed (MB) | Match");
+        System.out.println("------------------------------------------------------------------------------------------------");
+
+        for (double zeroProbability : zeroProbabilities) {
+            Random rand = new Random(42); // Fixed seed for reproducibility
+
+            for (int[] size : testSizes) {
+                int m = size[0];
+                int n = size[1];
+                long dpTime = 0;
+                long packedTime = 0;
+                int maxSize = 0;
+                boolean match = true;
+
+                for (int trial = 0; trial < trials; trial++) {
+                    byte[][] matrix = generateRandomMatrix(m, n, zeroProbability, rand);
+                    BitMatrix packed = BitMatrix.fromBytes(matrix);
+
+                    long startTime = System.nanoTime();
+                    MatrixResult expected = findLargestZeroSquare(matrix);
+                    dpTime += System.nanoTime() - startTime;
+
+                    startTime = System.nanoTime();
+                    MatrixResult actual = findLargestZeroSquarePacked(packed);
+                    packedTime += System.nanoTime() - startTime;
+
+                    maxSize = Math.max(maxSize, expected.size);
+                    match &= expected.equals(actual);
+                }
+
+                System.out.printf("%4d × %4d    | %7.2f | %10d | %9.3f | %11.3f | %8.2f | %11.2f | %s\n",
+                                m, n, zeroProbability, maxSize,
+                                dpTime / trials / 1_000_000.0, packedTime / trials / 1_000_000.0,
+                                calculateMemoryUsage(m, n) / (1024.0 * 1024.0),
+                                calculatePackedMemoryUsage(m, n) / (1024.0 * 1024.0),
+                                match ? "YES" : "NO");
+            }
+        }
+    }
+    
+    // Run-length solver against the dense DP on mostly-one layouts: uniform random
+    // zeros over a sweep of zeroProbability, and ones with clustered zero pockets
+    public static void runSparseExperiments() {
+        System.out.println("\n\n=== RUN-LENGTH vs DENSE SOLVER ===\n");
+
+        int m = 2000;
+        int n = 2000;
+        double[] zeroProbabilities = {0.01, 0.05, 0.2, 0.5, 0.7};
+        int[][] clusters = {  // pockets, max pocket side
+            {20, 100},
+            {200, 30},
+            {2000, 10}
+        };
+        int trials = 3;
+        Random rand = new Random(42); // Fixed seed for reproducibility
+
+        System.out.println("Layout (2000 × 2000)  | Zeros  | Max Square | Dense (ms) | Encode (ms) | Runs (ms) | Speedup | Match");
+        System.out.println("----------------------------------------------------------------------------------------------------");
+
+        List<String> layouts = new ArrayList<>();
+        for (double p : zeroProbabilities) {
+            layouts.add(String.format("random p=%.2f", p));
+        }
+        for (int[] cluster : clusters) {
+            layouts.add(String.format("%d pockets up to %d", cluster[0], cluster[1]));
+        }
+
+        for (int layout = 0; layout < layouts.size(); layout++) {
+            long denseTime = 0, encodeTime = 0, runsTime = 0;
+            long zeros = 0;
+            int maxSize = 0;
+            boolean match = true;
+
+            for (int trial = 0; trial < trials; trial++) {
+                byte[][] matrix;
+                if (layout < zeroProbabilities.length) {
+                    matrix = generateRandomMatrix(m, n, zeroProbabilities[layout], rand);
+                } else {
+                    int[] cluster = clusters[layout - zeroProbabilities.length];
+                    matrix = generateClusteredMatrix(m, n, cluster[0], cluster[1], rand);
+                }
+
+                long startTime = System.nanoTime();
+                MatrixResult expected = findLargestZeroSquare(matrix);
+                denseTime += System.nanoTime() - startTime;
+
+                startTime = System.nanoTime();
+                int[][] zeroRuns = encodeZeroRuns(matrix);
+                encodeTime += System.nanoTime() - startTime;
+
+                startTime = System.nanoTime();
+                MatrixResult actual = findLargestZeroSquareRuns(zeroRuns, n);
+                runsTime += System.nanoTime() - startTime;
+
+                for (int[] runs : zeroRuns) {
+                    for (int r = 0; r < runs.length; r += 2) {
+                        zeros += runs[r + 1] - runs[r];
+                    }
+                }
+                maxSize = Math.max(maxSize, expected.size);
+                match &= expected.equals(actual);
+            }
+
+            System.out.printf("%-21s | %5.1f%% | %10d | %10.3f | %11.3f | %9.3f | %6.1fx | %s\n",
+                            layouts.get(layout), 100.0 * zeros / ((double) m * n * trials), maxSize,
+                            denseTime / trials / 1_000_000.0, encodeTime / trials / 1_000_000.0,
+                            runsTime / trials / 1_000_000.0, (double) denseTime / runsTime,
+                            match ? "YES" : "NO");
+        }
+    }
     
     // Simple ASCII graph printer
     private static void printAsciiGraph(List<Integer> x, List<Double> y, 
@@ -301,8 +1067,59 @@ public class LargestZeroSubMatrix {
         return true;
     }
     
+    // Verifier built on a summed-area table of ones: any k×k window is checked in O(1),
+    // so "the square is all zeros and no (size+1) square exists" costs O(m × n) in total
+    public static boolean verifyResultFast(byte[][] matrix, MatrixResult result) {
+        int m = matrix.length;
+        int n = (m == 0) ? 0 : matrix[0].length;
+        if ((long) (m + 1) * (n + 1) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                String.format("Matrix %d x %d too large for an int prefix table", m, n));
+        }
+
+        // ones[i][j] = number of ones in matrix[0..i-1][0..j-1]
+        int[][] ones = new int[m + 1][n + 1];
+        for (int i = 0; i < m; i++) {
+            int rowSum = 0;
+            for (int j = 0; j < n; j++) {
+                rowSum += (matrix[i][j] != 0) ? 1 : 0;
+                ones[i + 1][j + 1] = ones[i][j + 1] + rowSum;
+            }
+        }
+
+        if (result.size > 0) {
+            // The reported square must lie inside the matrix and be all zeros
+            if (result.row < 0 || result.col < 0
+                    || result.row + result.size > m || result.col + result.size > n) {
+                return false;
+            }
+            if (windowOnes(ones, result.row, result.col, result.size) != 0) {
+                return false;
+            }
+        }
+
+        // No square of size + 1 may exist anywhere
+        int size = result.size + 1;
+        for (int i = 0; i + size <= m; i++) {
+            for (int j = 0; j + size <= n; j++) {
+                if (windowOnes(ones, i, j, size) == 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Number of ones in the size×size window with top-left corner (row, col)
+    private static int windowOnes(int[][] ones, int row, int col, int size) {
+        return ones[row + size][col + size] - ones[row][col + size]
+             - ones[row + size][col] + ones[row][col];
+    }
+
     public static void main(String[] args) {
         runExperiments();
+        runPackedExperiments();
+        runSparseExperiments();
         
         // Run verification tests
         System.out.println("\n\n=== VERIFICATION TESTS ===");
@@ -310,12 +1127,16 @@ public class LargestZeroSubMatrix {
         boolean allCorrect = true;
         
         for (int test = 0; test < 10; test++) {
-            int m = 10 + rand.nextInt(20);
-            int n = 10 + rand.nextInt(20);
+            int m = 1000 + rand.nextInt(1000);
+            int n = 1000 + rand.nextInt(1000);
             byte[][] matrix = generateRandomMatrix(m, n, 0.7, rand);
             MatrixResult result = findLargestZeroSquare(matrix);
             
-            boolean correct = verifyResult(matrix, result);
+            boolean correct = verifyResultFast(matrix, result)
+                && result.equals(findLargestZeroSquareRolling(matrix))
+                && result.equals(findLargestZeroSquareVectorized(matrix))
+                && result.equals(findLargestZeroSquarePacked(BitMatrix.fromBytes(matrix)))
+                && result.equals(findLargestZeroSquareRuns(encodeZeroRuns(matrix), n));
             System.out.printf("Test %d (%dx%d): %s\n", test+1, m, n, 
                             correct ? "PASSED" : "FAILED");
             if (!correct) allCorrect = false;
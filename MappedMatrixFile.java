@@ -0,0 +1,174 @@
+import java.util.*;
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+
+// On-disk binary matrix format for inputs larger than the heap.
+// Layout (big-endian):
+//   int  magic    'Z' 'M' 'A' 'T'
+//   int  version  1
+//   int  rows
+//   int  cols
+//   rows * cols bytes, row-major, one 0/1 cell per byte
+public class MappedMatrixFile {
+    public static final int MAGIC = 0x5A4D4154;  // "ZMAT"
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 16;
+
+    // Rows are mapped in windows of about this many bytes (always at least one row)
+    public static final long DEFAULT_WINDOW_BYTES = 64L << 20;
+
+    // Write an in-memory matrix in the on-disk format
+    public static void write(Path path, byte[][] matrix) throws IOException {
+        int m = matrix.length;
+        int n = (m == 0) ? 0 : matrix[0].length;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeHeader(channel, m, n);
+            for (byte[] row : matrix) {
+                if (row.length != n) {
+                    throw new IllegalArgumentException("Ragged matrix row of length " + row.length);
+                }
+                writeFully(channel, ByteBuffer.wrap(row));
+            }
+        }
+    }
+
+    // Same cells as LargestZeroSubMatrix.generateRandomMatrix for the same Random state,
+    // streamed straight to disk so the file can be far larger than the heap
+    public static void generateRandomFile(Path path, int m, int n, double zeroProbability,
+                                          Random rand) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeHeader(channel, m, n);
+            ByteBuffer row = ByteBuffer.allocateDirect(n);
+            for (int i = 0; i < m; i++) {
+                row.clear();
+                for (int j = 0; j < n; j++) {
+                    row.put((rand.nextDouble() < zeroProbability) ? (byte)0 : (byte)1);
+                }
+                row.flip();
+                writeFully(channel, row);
+            }
+        }
+    }
+
+    private static void writeHeader(FileChannel channel, int m, int n) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putInt(m).putInt(n).flip();
+        writeFully(channel, header);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    public static LargestZeroSubMatrix.MatrixResult findLargestZeroSquare(Path path) throws IOException {
+        return findLargestZeroSquare(path, DEFAULT_WINDOW_BYTES);
+    }
+
+    // Stream rows through a sliding MappedByteBuffer window into a RowSolver:
+    // cells are read in place from the page cache, and only one DP row is kept
+    public static LargestZeroSubMatrix.MatrixResult findLargestZeroSquare(Path path, long windowBytes)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException("Truncated header in " + path);
+                }
+            }
+            header.flip();
+
+            int magic = header.getInt();
+            int version = header.getInt();
+            int m = header.getInt();
+            int n = header.getInt();
+            if (magic != MAGIC) {
+                throw new IOException(String.format("Bad magic 0x%08X in %s", magic, path));
+            }
+            if (version != VERSION) {
+                throw new IOException("Unsupported version " + version + " in " + path);
+            }
+            if (m < 0 || n < 0) {
+                throw new IOException(String.format("Invalid dimensions %d x %d in %s", m, n, path));
+            }
+
+            long expectedSize = HEADER_BYTES + (long) m * n;
+            if (channel.size() < expectedSize) {
+                throw new IOException(String.format("File %s has %d bytes, expected %d",
+                                                    path, channel.size(), expectedSize));
+            }
+            if (m == 0 || n == 0) {
+                return new LargestZeroSubMatrix.MatrixResult(0, -1, -1);
+            }
+
+            LargestZeroSubMatrix.RowSolver solver = new LargestZeroSubMatrix.RowSolver(n);
+            long rowsPerWindow = Math.max(1, Math.min(windowBytes, Integer.MAX_VALUE) / n);
+
+            for (long first = 0; first < m; first += rowsPerWindow) {
+                int rows = (int) Math.min(rowsPerWindow, m - first);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_BYTES + first * n, (long) rows * n);
+                for (int r = 0; r < rows; r++) {
+                    solver.pushRow(window, r * n);
+                }
+            }
+            return solver.result();
+        }
+    }
+
+    // Benchmark: generate files of increasing size and solve them out of core
+    public static void runExperiments(Path directory, int[][] testSizes) throws IOException {
+        System.out.println("=== OUT-OF-CORE LARGEST ZERO SUB-MATRIX ===\n");
+
+        double zeroProbability = 0.7; // 70% zeros
+        Random rand = new Random(42); // Fixed seed for reproducibility
+
+        System.out.println("Matrix Size        | File (MB)  | Max Square | Time (ms)  | Throughput (MB/s)");
+        System.out.println("------------------------------------------------------------------------------");
+
+        for (int[] size : testSizes) {
+            int m = size[0];
+            int n = size[1];
+            Path file = directory.resolve(String.format("matrix_%dx%d.zmat", m, n));
+            try {
+                generateRandomFile(file, m, n, zeroProbability, rand);
+                double fileMB = Files.size(file) / (1024.0 * 1024.0);
+
+                long startTime = System.nanoTime();
+                LargestZeroSubMatrix.MatrixResult result = findLargestZeroSquare(file);
+                long endTime = System.nanoTime();
+
+                double timeMs = (endTime - startTime) / 1_000_000.0;
+                System.out.printf("%6d × %6d    | %10.1f | %10d | %10.1f | %17.1f\n",
+                                m, n, fileMB, result.size, timeMs, fileMB / (timeMs / 1000.0));
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path directory = (args.length > 0) ? Paths.get(args[0])
+                                           : Paths.get(System.getProperty("java.io.tmpdir"));
+        int[][] testSizes = {
+            {1000, 1000},
+            {10000, 10000},
+            {40000, 40000},
+            {80000, 80000}
+        };
+        int maxDimension = (args.length > 1) ? Integer.parseInt(args[1]) : 40000;
+
+        List<int[]> selected = new ArrayList<>();
+        for (int[] size : testSizes) {
+            if (Math.max(size[0], size[1]) <= maxDimension) {
+                selected.add(size);
+            }
+        }
+        runExperiments(directory, selected.toArray(new int[0][]));
+    }
+}
@@ -0,0 +1,249 @@
+import java.util.*;
+import java.util.concurrent.*;
+
+// Fork-join engine for the largest zero square.
+// The matrix is tiled into blocks and processed as an anti-diagonal wavefront:
+// block (bi, bj) only needs the bottom row of (bi-1, bj), the right column of
+// (bi, bj-1) and the corner of (bi-1, bj-1), so all blocks on one anti-diagonal
+// run in parallel. Only block boundaries are kept, O(m + n) ints in total.
+public class ParallelZeroSquare {
+    public static final long DEFAULT_THRESHOLD = 1L << 20;  // cells
+    public static final int DEFAULT_BLOCK_SIZE = 512;
+
+    private final ForkJoinPool pool;
+    private final long threshold;
+    private final int blockSize;
+
+    public ParallelZeroSquare() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD, DEFAULT_BLOCK_SIZE);
+    }
+
+    // Matrices with fewer than threshold cells stay on the sequential path
+    public ParallelZeroSquare(ForkJoinPool pool, long threshold, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        this.pool = Objects.requireNonNull(pool);
+        this.threshold = threshold;
+        this.blockSize = blockSize;
+    }
+
+    public LargestZeroSubMatrix.MatrixResult solve(byte[][] matrix) {
+        if (matrix == null || matrix.length == 0 || matrix[0].length == 0) {
+            return new LargestZeroSubMatrix.MatrixResult(0, -1, -1);
+        }
+        if ((long) matrix.length * matrix[0].length < threshold) {
+            return LargestZeroSubMatrix.findLargestZeroSquareRolling(matrix);
+        }
+        return pool.invoke(new Wavefront(matrix, blockSize));
+    }
+
+    // State shared by all blocks of one solve
+    private static final class Wavefront extends RecursiveTask<LargestZeroSubMatrix.MatrixResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[][] matrix;
+        private final int m, n, blockSize;
+        private final int blockRows, blockCols;
+
+        private final int[] rowBoundary;  // bottom row of the last block above, per column
+        private final int[] colBoundary;  // right column of the last block to the left, per row
+        private final int[] corners;      // dp at (r0-1, c0-1) for each block, (blockRows+1) x (blockCols+1)
+
+        // Best square per block, by bottom-right corner
+        private final int[] bestSize, bestRow, bestCol;
+
+        Wavefront(byte[][] matrix, int blockSize) {
+            this.matrix = matrix;
+            this.m = matrix.length;
+            this.n = matrix[0].length;
+            this.blockSize = blockSize;
+            this.blockRows = (m + blockSize - 1) / blockSize;
+            this.blockCols = (n + blockSize - 1) / blockSize;
+            this.rowBoundary = new int[n];
+            this.colBoundary = new int[m];
+            this.corners = new int[(blockRows + 1) * (blockCols + 1)];
+            this.bestSize = new int[blockRows * blockCols];
+            this.bestRow = new int[blockRows * blockCols];
+            this.bestCol = new int[blockRows * blockCols];
+        }
+
+        @Override
+        protected LargestZeroSubMatrix.MatrixResult compute() {
+            List<RecursiveAction> wave = new ArrayList<>();
+            for (int d = 0; d < blockRows + blockCols - 1; d++) {
+                wave.clear();
+                int first = Math.max(0, d - blockCols + 1);
+                int last = Math.min(blockRows - 1, d);
+                for (int bi = first; bi <= last; bi++) {
+                    int row = bi;
+                    int col = d - bi;
+                    wave.add(new RecursiveAction() {
+                        @Override
+                        protected void compute() {
+                            solveBlock(row, col);
+                        }
+                    });
+                }
+                if (wave.size() == 1) {
+                    wave.get(0).invoke();
+                } else {
+                    invokeAll(wave);
+                }
+            }
+            return reduce();
+        }
+
+        private void solveBlock(int bi, int bj) {
+            int r0 = bi * blockSize, r1 = Math.min(m, r0 + blockSize);
+            int c0 = bj * blockSize, c1 = Math.min(n, c0 + blockSize);
+            int w = c1 - c0;
+
+            int[] row = new int[w];
+            System.arraycopy(rowBoundary, c0, row, 0, w);
+
+            int maxSize = 0, maxRow = -1, maxCol = -1;
+            int diagLeft = corners[bi * (blockCols + 1) + bj];  // dp[i-1][c0-1]
+
+            for (int i = r0; i < r1; i++) {
+                byte[] cells = matrix[i];
+                int leftIn = colBoundary[i];
+                int diag = diagLeft;
+                int left = leftIn;
+
+                for (int jj = 0; jj < w; jj++) {
+                    int up = row[jj];
+                    int value = (cells[c0 + jj] != 0) ? 0 : 1 + Math.min(diag, Math.min(up, left));
+                    diag = up;
+                    left = value;
+                    row[jj] = value;
+
+                    if (value > maxSize) {
+                        maxSize = value;
+                        maxRow = i;
+                        maxCol = c0 + jj;
+                    }
+                }
+
+                colBoundary[i] = left;
+                diagLeft = leftIn;
+            }
+
+            System.arraycopy(row, 0, rowBoundary, c0, w);
+            corners[(bi + 1) * (blockCols + 1) + (bj + 1)] = row[w - 1];
+
+            int b = bi * blockCols + bj;
+            bestSize[b] = maxSize;
+            bestRow[b] = maxRow;
+            bestCol[b] = maxCol;
+        }
+
+        // Same tie-breaking as findLargestZeroSquare: earliest bottom-right in row-major order
+        private LargestZeroSubMatrix.MatrixResult reduce() {
+            int maxSize = 0, maxRow = -1, maxCol = -1;
+            for (int b = 0; b < bestSize.length; b++) {
+                int size = bestSize[b];
+                if (size == 0) continue;
+                if (size > maxSize
+                        || (size == maxSize && (bestRow[b] < maxRow
+                            || (bestRow[b] == maxRow && bestCol[b] < maxCol)))) {
+                    maxSize = size;
+                    maxRow = bestRow[b];
+                    maxCol = bestCol[b];
+                }
+            }
+
+            if (maxSize == 0) {
+                return new LargestZeroSubMatrix.MatrixResult(0, -1, -1);
+            }
+
+            if (maxSize == 1 && maxRow > 0 && maxCol > 0) {
+                // findLargestZeroSquare scans the first column before the interior
+                for (int i = 1; i < m; i++) {
+                    if (matrix[i][0] == 0) {
+                        maxRow = i;
+                        maxCol = 0;
+                        break;
+                    }
+                }
+            }
+
+            return new LargestZeroSubMatrix.MatrixResult(maxSize, maxRow - maxSize + 1, maxCol - maxSize + 1);
+        }
+    }
+
+    // Scaling benchmark: extends the runExperiments size table and reports speedup per thread count
+    public static void runScalingExperiments(int maxDimension) {
+        System.out.println("=== PARALLEL ZERO SQUARE SCALING ===\n");
+
+        int[][] testSizes = {
+            {10, 10},
+            {10, 100},
+            {10, 1000},
+            {100, 1000},
+            {1000, 1000},
+            {2000, 2000},
+            {5000, 5000},
+            {10000, 10000},
+            {20000, 20000}
+        };
+
+        List<Integer> threadCounts = new ArrayList<>();
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int t = 1; t < cores; t *= 2) {
+            threadCounts.add(t);
+        }
+        threadCounts.add(cores);
+
+        double zeroProbability = 0.7; // 70% zeros
+        Random rand = new Random(42); // Fixed seed for reproducibility
+
+        System.out.println("Matrix Size      | Threads | Max Square | Time (ms) | Speedup");
+        System.out.println("----------------------------------------------------------------");
+
+        for (int[] size : testSizes) {
+            int m = size[0];
+            int n = size[1];
+            if (Math.max(m, n) > maxDimension) continue;
+
+            byte[][] matrix = LargestZeroSubMatrix.generateRandomMatrix(m, n, zeroProbability, rand);
+            LargestZeroSubMatrix.MatrixResult expected = LargestZeroSubMatrix.findLargestZeroSquareRolling(matrix);
+            int trials = ((long) m * n <= 10000) ? 10 : 3; // More trials for smaller matrices
+            double baseline = 0;
+
+            for (int threads : threadCounts) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                try {
+                    // Threshold 0 forces the wavefront path so thread counts are comparable
+                    ParallelZeroSquare solver = new ParallelZeroSquare(pool, 0, DEFAULT_BLOCK_SIZE);
+                    long totalTime = 0;
+                    LargestZeroSubMatrix.MatrixResult result = null;
+
+                    for (int trial = 0; trial < trials; trial++) {
+                        long startTime = System.nanoTime();
+                        result = solver.solve(matrix);
+                        totalTime += System.nanoTime() - startTime;
+                    }
+
+                    if (!expected.equals(result)) {
+                        throw new IllegalStateException("Parallel result " + result + " differs from " + expected);
+                    }
+
+                    double avgTime = totalTime / trials / 1_000_000.0; // Convert to ms
+                    if (threads == 1) {
+                        baseline = avgTime;
+                    }
+                    System.out.printf("%5d × %5d    | %7d | %10d | %9.3f | %6.2fx\n",
+                                    m, n, threads, result.size, avgTime, baseline / avgTime);
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int maxDimension = (args.length > 0) ? Integer.parseInt(args[0]) : 20000;
+        runScalingExperiments(maxDimension);
+    }
+}
@@ -0,0 +1,465 @@
+import java.lang.invoke.*;
+import java.nio.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+
+// Optional bounded result cache in front of findLargestZeroSquare and findBestSubstring.
+// Inputs are keyed by a 64-bit streaming hash (8 bytes per step over matrix rows,
+// 4 chars per step over strings) and every hit is confirmed by comparing the
+// full input, so a hash collision can never return a wrong result. Matrices are
+// copied on insert, so callers may reuse or mutate their arrays afterwards.
+//
+// The cache is split into independently locked LRU segments chosen by hash bits;
+// each segment holds at most maxBytes / segments of retained input, so threads only
+// contend when their keys land in the same segment. Solving a miss happens outside
+// any lock; two threads missing on the same input may both solve it.
+public class SolverCache {
+    public static final int DEFAULT_SEGMENTS = 16;
+    private static final int ENTRY_OVERHEAD_BYTES = 64;  // key, entry and map node headers, roughly
+    private static final int MAX_STORED_CELLS = Integer.MAX_VALUE - 8;  // stored matrices are one flat array
+    private static final VarHandle LONGS =
+        MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final Segment[] segments;
+    private final long segmentBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder uncacheable = new LongAdder();  // too large to store, or ragged
+
+    public SolverCache(long maxBytes) {
+        this(maxBytes, DEFAULT_SEGMENTS);
+    }
+
+    public SolverCache(long maxBytes, int segmentCount) {
+        if (maxBytes <= 0 || segmentCount <= 0) {
+            throw new IllegalArgumentException(
+                String.format("maxBytes (%d) and segments (%d) must be positive", maxBytes, segmentCount));
+        }
+        this.segments = new Segment[segmentCount];
+        for (int s = 0; s < segmentCount; s++) {
+            segments[s] = new Segment();
+        }
+        this.segmentBytes = Math.max(1, maxBytes / segmentCount);
+    }
+
+    // One LRU shard: access-ordered map plus the bytes its keys retain
+    private static final class Segment {
+        final ReentrantLock lock = new ReentrantLock();
+        final LinkedHashMap<Object, CachedResult> map = new LinkedHashMap<>(16, 0.75f, true);
+        long bytes = 0;
+    }
+
+    private static final class CachedResult {
+        final Object result;
+        final long bytes;
+
+        CachedResult(Object result, long bytes) {
+            this.result = result;
+            this.bytes = bytes;
+        }
+    }
+
+    // Same result as LargestZeroSubMatrix.findLargestZeroSquare
+    public LargestZeroSubMatrix.MatrixResult findLargestZeroSquare(byte[][] matrix) {
+        if (matrix == null || matrix.length == 0 || matrix[0].length == 0 || !isRectangular(matrix)) {
+            uncacheable.increment();
+            return LargestZeroSubMatrix.findLargestZeroSquare(matrix);
+        }
+
+        MatrixKey probe = new MatrixKey(matrix);
+        LargestZeroSubMatrix.MatrixResult cached = (LargestZeroSubMatrix.MatrixResult) get(probe);
+        if (cached == null) {
+            cached = LargestZeroSubMatrix.findLargestZeroSquare(matrix);
+            long inputBytes = (long) probe.rows * probe.cols;
+            if (inputBytes > MAX_STORED_CELLS) {
+                uncacheable.increment();
+            } else if (fits(inputBytes)) {
+                put(probe.stored(), cached, inputBytes);
+            }
+        }
+        // Results are mutable, so callers get their own copy
+        return new LargestZeroSubMatrix.MatrixResult(cached.size, cached.row, cached.col);
+    }
+
+    // Same result as scoring.findBestSubstring(s1, s2); keyed on the strings, weights and penalty
+    public WeightedSubstring.SubstringResult findBestSubstring(WeightedSubstring scoring, String s1, String s2) {
+        SubstringKey key = new SubstringKey(scoring.scoringParameters(), s1, s2);
+        WeightedSubstring.SubstringResult cached = (WeightedSubstring.SubstringResult) get(key);
+        if (cached == null) {
+            cached = scoring.findBestSubstring(s1, s2);
+            // Strings are immutable and shared, not copied
+            long inputBytes = 2L * (s1.length() + s2.length()) + 8L * key.scoring.length;
+            if (fits(inputBytes)) {
+                put(key, cached, inputBytes);
+            }
+        }
+        return new WeightedSubstring.SubstringResult(cached.score, cached.start1, cached.start2,
+                cached.length, cached.substring1, cached.substring2);
+    }
+
+    private Object get(Key key) {
+        Segment segment = segmentFor(key.hash);
+        segment.lock.lock();
+        try {
+            CachedResult entry = segment.map.get(key);
+            if (entry != null) {
+                hits.increment();
+                return entry.result;
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+        misses.increment();
+        return null;
+    }
+
+    // Inputs larger than a segment are never stored
+    private boolean fits(long inputBytes) {
+        if (inputBytes + ENTRY_OVERHEAD_BYTES > segmentBytes) {
+            uncacheable.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private void put(Key key, Object result, long inputBytes) {
+        long bytes = inputBytes + ENTRY_OVERHEAD_BYTES;
+        Segment segment = segmentFor(key.hash);
+        segment.lock.lock();
+        try {
+            if (segment.map.containsKey(key)) {
+                return;  // another thread solved it first
+            }
+            segment.map.put(key, new CachedResult(result, bytes));
+            segment.bytes += bytes;
+
+            // Least recently used first
+            Iterator<CachedResult> eldest = segment.map.values().iterator();
+            while (segment.bytes > segmentBytes) {
+                CachedResult evicted = eldest.next();
+                eldest.remove();
+                segment.bytes -= evicted.bytes;
+                evictions.increment();
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) ((hash >>> 32) % segments.length)];
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.map.clear();
+                segment.bytes = 0;
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    private static boolean isRectangular(byte[][] matrix) {
+        int n = matrix[0].length;
+        for (byte[] row : matrix) {
+            if (row == null || row.length != n) return false;
+        }
+        return true;
+    }
+
+    // Streaming 64-bit hash: multiply-rotate per 8-byte word, avalanche at the end
+    private static long mix(long h, long word) {
+        h ^= word * 0x9E3779B97F4A7C15L;
+        return Long.rotateLeft(h, 29) * 0xBF58476D1CE4E5B9L;
+    }
+
+    private static long finish(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    private static long hashBytes(long h, byte[] data, int from, int to) {
+        int k = from;
+        for (; k + 8 <= to; k += 8) {
+            h = mix(h, (long) LONGS.get(data, k));
+        }
+        long tail = 0;
+        for (int shift = 0; k < to; k++, shift += 8) {
+            tail |= (data[k] & 0xFFL) << shift;
+        }
+        return mix(h, tail ^ (to - from));
+    }
+
+    private static long hashChars(long h, String s) {
+        int k = 0;
+        int length = s.length();
+        for (; k + 4 <= length; k += 4) {
+            h = mix(h, s.charAt(k) | (long) s.charAt(k + 1) << 16
+                       | (long) s.charAt(k + 2) << 32 | (long) s.charAt(k + 3) << 48);
+        }
+        long tail = 0;
+        for (int shift = 0; k < length; k++, shift += 16) {
+            tail |= (long) s.charAt(k) << shift;
+        }
+        return mix(h, tail ^ length);
+    }
+
+    private abstract static class Key {
+        final long hash;
+
+        Key(long hash) {
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (hash ^ (hash >>> 32));
+        }
+    }
+
+    // A probe wraps the caller's rows; the stored key owns a flattened copy
+    private static final class MatrixKey extends Key {
+        final int rows, cols;
+        final byte[][] matrix;  // probe form
+        final byte[] cells;     // stored form, row-major
+
+        MatrixKey(byte[][] matrix) {
+            super(hashMatrix(matrix));
+            this.rows = matrix.length;
+            this.cols = matrix[0].length;
+            this.matrix = matrix;
+            this.cells = null;
+        }
+
+        private MatrixKey(long hash, int rows, int cols, byte[] cells) {
+            super(hash);
+            this.rows = rows;
+            this.cols = cols;
+            this.matrix = null;
+            this.cells = cells;
+        }
+
+        private static long hashMatrix(byte[][] matrix) {
+            long h = mix(0x5A4D4154L, ((long) matrix.length << 32) | matrix[0].length);
+            for (byte[] row : matrix) {
+                h = hashBytes(h, row, 0, row.length);
+            }
+            return finish(h);
+        }
+
+        MatrixKey stored() {
+            byte[] copy = new byte[rows * cols];
+            for (int i = 0; i < rows; i++) {
+                System.arraycopy(matrix[i], 0, copy, i * cols, cols);
+            }
+            return new MatrixKey(hash, rows, cols, copy);
+        }
+
+        private byte[] row(int i) {
+            return (matrix != null) ? matrix[i] : cells;
+        }
+
+        private int offset(int i) {
+            return (matrix != null) ? 0 : i * cols;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof MatrixKey)) return false;
+            MatrixKey other = (MatrixKey) o;
+            if (hash != other.hash || rows != other.rows || cols != other.cols) return false;
+            for (int i = 0; i < rows; i++) {
+                if (!Arrays.equals(row(i), offset(i), offset(i) + cols,
+                                   other.row(i), other.offset(i), other.offset(i) + cols)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class SubstringKey extends Key {
+        final double[] scoring;
+        final String s1, s2;
+
+        SubstringKey(double[] scoring, String s1, String s2) {
+            super(hashInputs(scoring, s1, s2));
+            this.scoring = scoring;
+            this.s1 = s1;
+            this.s2 = s2;
+        }
+
+        private static long hashInputs(double[] scoring, String s1, String s2) {
+            long h = mix(0x57535542L, ((long) s1.length() << 32) | s2.length());
+            for (double parameter : scoring) {
+                h = mix(h, Double.doubleToLongBits(parameter));
+            }
+            return finish(hashChars(hashChars(h, s1), s2));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SubstringKey)) return false;
+            SubstringKey other = (SubstringKey) o;
+            return hash == other.hash && s1.equals(other.s1) && s2.equals(other.s2)
+                    && Arrays.equals(scoring, other.scoring);
+        }
+    }
+
+    public Stats stats() {
+        long entries = 0, bytes = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                entries += segment.map.size();
+                bytes += segment.bytes;
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), uncacheable.sum(),
+                         entries, bytes, segmentBytes * segments.length);
+    }
+
+    // Snapshot of the cache counters
+    static class Stats {
+        long hits, misses, evictions, uncacheable;
+        long entries, bytes, maxBytes;
+
+        Stats(long hits, long misses, long evictions, long uncacheable,
+              long entries, long bytes, long maxBytes) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.uncacheable = uncacheable;
+            this.entries = entries;
+            this.bytes = bytes;
+            this.maxBytes = maxBytes;
+        }
+
+        double hitRate() {
+            return hits / (double) Math.max(1, hits + misses);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Hits: %d\nMisses: %d\nHit rate: %.1f%%\nEvictions: %d\n" +
+                            "Uncacheable: %d\nEntries: %d\nBytes: %d of %d",
+                    hits, misses, 100 * hitRate(), evictions, uncacheable, entries, bytes, maxBytes);
+        }
+    }
+
+    // Repeated queries drawn from a skewed pool of distinct inputs, solved directly
+    // and through the cache from several threads
+    public static void runExperiments() throws InterruptedException {
+        System.out.println("=== SOLVER RESULT CACHE ===\n");
+
+        int queries = 20000;
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        Random rand = new Random(42); // Fixed seed for reproducibility
+
+        int[] poolSizes = {50, 500, 5000};
+        long cacheBytes = 16L << 20;
+
+        System.out.println("Solver            | Distinct | Direct (ms) | Cached (ms) | Speedup | Concurrent (ms) | Hit Rate | Evictions | Match");
+        System.out.println("--------------------------------------------------------------------------------------------------------------------");
+
+        for (int solver = 0; solver < 2; solver++) {
+            for (int poolSize : poolSizes) {
+                List<byte[][]> matrices = new ArrayList<>();
+                List<String[]> pairs = new ArrayList<>();
+                for (int p = 0; p < poolSize; p++) {
+                    if (solver == 0) {
+                        matrices.add(LargestZeroSubMatrix.generateRandomMatrix(100, 100, 0.7, rand));
+                    } else {
+                        pairs.add(new String[] {WeightedSubstring.generateRandomString(100, rand),
+                                                WeightedSubstring.generateRandomString(100, rand)});
+                    }
+                }
+
+                // Skewed popularity: low pool indices are queried far more often
+                int[] picks = new int[queries];
+                for (int q = 0; q < queries; q++) {
+                    picks[q] = (int) (poolSize * Math.pow(rand.nextDouble(), 3));
+                }
+
+                WeightedSubstring ws = new WeightedSubstring(10.0, 1.0, 10.0);
+                Object[] expected = new Object[queries];
+                long startTime = System.nanoTime();
+                for (int q = 0; q < queries; q++) {
+                    expected[q] = (solver == 0)
+                        ? LargestZeroSubMatrix.findLargestZeroSquare(matrices.get(picks[q]))
+                        : ws.findBestSubstring(pairs.get(picks[q])[0], pairs.get(picks[q])[1]);
+                }
+                double directTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+                SolverCache cache = new SolverCache(cacheBytes);
+                Object[] actual = new Object[queries];
+                startTime = System.nanoTime();
+                for (int q = 0; q < queries; q++) {
+                    actual[q] = (solver == 0)
+                        ? cache.findLargestZeroSquare(matrices.get(picks[q]))
+                        : cache.findBestSubstring(ws, pairs.get(picks[q])[0], pairs.get(picks[q])[1]);
+                }
+                double cachedTime = (System.nanoTime() - startTime) / 1_000_000.0;
+                Stats stats = cache.stats();
+
+                // Same queries on a fresh cache from several threads
+                SolverCache shared = new SolverCache(cacheBytes);
+                Object[] concurrent = new Object[queries];
+                ExecutorService executor = Executors.newFixedThreadPool(threads);
+                startTime = System.nanoTime();
+                boolean matrixSolver = solver == 0;
+                for (int t = 0; t < threads; t++) {
+                    int first = t;
+                    executor.execute(() -> {
+                        for (int q = first; q < queries; q += threads) {
+                            concurrent[q] = matrixSolver
+                                ? shared.findLargestZeroSquare(matrices.get(picks[q]))
+                                : shared.findBestSubstring(ws, pairs.get(picks[q])[0], pairs.get(picks[q])[1]);
+                        }
+                    });
+                }
+                executor.shutdown();
+                executor.awaitTermination(1, TimeUnit.HOURS);
+                double concurrentTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+                boolean match = true;
+                for (int q = 0; q < queries; q++) {
+                    match &= sameResult(expected[q], actual[q]) && sameResult(expected[q], concurrent[q]);
+                }
+
+                System.out.printf("%-17s | %8d | %11.1f | %11.1f | %6.1fx | %15.1f | %7.1f%% | %9d | %s\n",
+                        (solver == 0) ? "100 × 100 matrix" : "100-char strings", poolSize,
+                        directTime, cachedTime, directTime / cachedTime, concurrentTime,
+                        100 * stats.hitRate(), stats.evictions, match ? "YES" : "NO");
+            }
+        }
+    }
+
+    private static boolean sameResult(Object expected, Object actual) {
+        if (expected instanceof LargestZeroSubMatrix.MatrixResult) {
+            return expected.equals(actual);
+        }
+        WeightedSubstring.SubstringResult e = (WeightedSubstring.SubstringResult) expected;
+        WeightedSubstring.SubstringResult a = (WeightedSubstring.SubstringResult) actual;
+        return e.score == a.score && e.start1 == a.start1 && e.start2 == a.start2
+                && e.length == a.length && e.substring1.equals(a.substring1);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        runExperiments();
+    }
+}
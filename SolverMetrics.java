@@ -0,0 +1,306 @@
+import java.io.*;
+import java.lang.management.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import jdk.jfr.*;
+
+// Flight Recorder events and an in-process metrics registry for
+// LargestZeroSubMatrix.findLargestZeroSquare and WeightedSubstring.findBestSubstring.
+// Each call records its input dimensions, cells processed, bytes allocated by the
+// calling thread, and the time spent in setup (DP allocation), fill and extraction.
+//
+// Nothing is measured unless the registry is enabled (setEnabled or -Dsolver.metrics=true)
+// or a recording has the event enabled (-XX:StartFlightRecording); otherwise the begin
+// methods return null after one flag check and the solvers skip every probe call.
+public final class SolverMetrics {
+    private static volatile boolean enabled = Boolean.getBoolean("solver.metrics");
+
+    static final Counters ZERO_SQUARE = new Counters("largest_zero_square");
+    static final Counters SUBSTRING = new Counters("weighted_substring");
+    private static final List<Counters> ALL = List.of(ZERO_SQUARE, SUBSTRING);
+
+    private SolverMetrics() {
+    }
+
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    @Name("aoa.LargestZeroSquare")
+    @Label("Largest Zero Square")
+    @Category({"AOA", "Solvers"})
+    @StackTrace(false)
+    static class ZeroSquareEvent extends SolverEvent {
+        @Label("Rows") int rows;
+        @Label("Columns") int cols;
+        @Label("Square Size") int size;
+    }
+
+    @Name("aoa.WeightedSubstring")
+    @Label("Weighted Substring")
+    @Category({"AOA", "Solvers"})
+    @StackTrace(false)
+    static class SubstringEvent extends SolverEvent {
+        @Label("Length 1") int length1;
+        @Label("Length 2") int length2;
+        @Label("Score") double score;
+    }
+
+    // Fields shared by both events; the event duration is the whole call
+    abstract static class SolverEvent extends Event {
+        @Label("Cells") long cells;
+        @Label("Cells per Second") double cellsPerSecond;
+        @Label("Bytes Allocated") @DataAmount long bytesAllocated;
+        @Label("Setup") @Timespan long setupNanos;
+        @Label("Fill") @Timespan long fillNanos;
+        @Label("Extraction") @Timespan long extractNanos;
+    }
+
+    // One solver call in progress. Phases are closed in order by mark(); end() publishes.
+    static final class Probe {
+        private final Counters counters;
+        private final SolverEvent event;
+        private final long allocatedAtStart;
+        private final long startNanos;
+        private long lastNanos;
+        private final long[] phaseNanos = new long[3];  // setup, fill, extraction
+        private int phase = 0;
+
+        private Probe(Counters counters, SolverEvent event) {
+            this.counters = counters;
+            this.event = event;
+            event.begin();
+            this.allocatedAtStart = threadAllocatedBytes();
+            this.startNanos = System.nanoTime();
+            this.lastNanos = startNanos;
+        }
+
+        // Closes the current phase
+        void mark() {
+            long now = System.nanoTime();
+            phaseNanos[phase++] += now - lastNanos;
+            lastNanos = now;
+        }
+
+        private void end(long cells) {
+            long totalNanos = System.nanoTime() - startNanos;
+            long allocated = (allocatedAtStart < 0) ? 0 : threadAllocatedBytes() - allocatedAtStart;
+
+            if (enabled) {
+                counters.record(cells, allocated, totalNanos, phaseNanos);
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.cells = cells;
+                event.cellsPerSecond = cells / Math.max(1e-9, totalNanos / 1e9);
+                event.bytesAllocated = allocated;
+                event.setupNanos = phaseNanos[0];
+                event.fillNanos = phaseNanos[1];
+                event.extractNanos = phaseNanos[2];
+                event.commit();
+            }
+        }
+    }
+
+    // Null unless the registry or a recording wants this call
+    static Probe beginZeroSquare(int rows, int cols) {
+        ZeroSquareEvent event = new ZeroSquareEvent();
+        if (!enabled && !event.isEnabled()) {
+            return null;
+        }
+        event.rows = rows;
+        event.cols = cols;
+        return new Probe(ZERO_SQUARE, event);
+    }
+
+    static void endZeroSquare(Probe probe, LargestZeroSubMatrix.MatrixResult result) {
+        ZeroSquareEvent event = (ZeroSquareEvent) probe.event;
+        event.size = result.size;
+        probe.end((long) event.rows * event.cols);
+    }
+
+    static Probe beginSubstring(int length1, int length2) {
+        SubstringEvent event = new SubstringEvent();
+        if (!enabled && !event.isEnabled()) {
+            return null;
+        }
+        event.length1 = length1;
+        event.length2 = length2;
+        return new Probe(SUBSTRING, event);
+    }
+
+    static void endSubstring(Probe probe, WeightedSubstring.SubstringResult result) {
+        SubstringEvent event = (SubstringEvent) probe.event;
+        event.score = result.score;
+        probe.end((long) event.length1 * event.length2);
+    }
+
+    // Bytes allocated so far by the current thread, or -1 when the JVM does not report it
+    static long threadAllocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(
+                    Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    // Running totals for one solver
+    static final class Counters {
+        final String name;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder cells = new LongAdder();
+        private final LongAdder bytesAllocated = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder setupNanos = new LongAdder();
+        private final LongAdder fillNanos = new LongAdder();
+        private final LongAdder extractNanos = new LongAdder();
+        private final AtomicLong maxCells = new AtomicLong();
+
+        Counters(String name) {
+            this.name = name;
+        }
+
+        private void record(long callCells, long allocated, long nanos, long[] phaseNanos) {
+            calls.increment();
+            cells.add(callCells);
+            bytesAllocated.add(allocated);
+            totalNanos.add(nanos);
+            setupNanos.add(phaseNanos[0]);
+            fillNanos.add(phaseNanos[1]);
+            extractNanos.add(phaseNanos[2]);
+            maxCells.accumulateAndGet(callCells, Math::max);
+        }
+
+        private void reset() {
+            calls.reset();
+            cells.reset();
+            bytesAllocated.reset();
+            totalNanos.reset();
+            setupNanos.reset();
+            fillNanos.reset();
+            extractNanos.reset();
+            maxCells.set(0);
+        }
+
+        double cellsPerSecond() {
+            long nanos = totalNanos.sum();
+            return (nanos == 0) ? 0 : cells.sum() / (nanos / 1e9);
+        }
+    }
+
+    public static void reset() {
+        for (Counters counters : ALL) {
+            counters.reset();
+        }
+    }
+
+    // Prometheus text exposition of every counter, for scraping or writing to a file
+    public static String export() {
+        StringBuilder out = new StringBuilder();
+        metric(out, "solver_calls_total", "counter", "Solver calls", c -> c.calls.sum());
+        metric(out, "solver_cells_total", "counter", "DP cells processed", c -> c.cells.sum());
+        metric(out, "solver_max_cells", "gauge", "Largest single input in cells", c -> c.maxCells.get());
+        metric(out, "solver_allocated_bytes_total", "counter", "Bytes allocated by solver calls",
+                c -> c.bytesAllocated.sum());
+        metric(out, "solver_seconds_total", "counter", "Time in solver calls", c -> c.totalNanos.sum() / 1e9);
+        metric(out, "solver_setup_seconds_total", "counter", "Time allocating DP state",
+                c -> c.setupNanos.sum() / 1e9);
+        metric(out, "solver_fill_seconds_total", "counter", "Time filling the DP", c -> c.fillNanos.sum() / 1e9);
+        metric(out, "solver_extract_seconds_total", "counter", "Time building results",
+                c -> c.extractNanos.sum() / 1e9);
+        metric(out, "solver_cells_per_second", "gauge", "Average DP throughput", Counters::cellsPerSecond);
+        return out.toString();
+    }
+
+    private interface Reading {
+        double of(Counters counters);
+    }
+
+    private static void metric(StringBuilder out, String name, String type, String help, Reading reading) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        for (Counters counters : ALL) {
+            double value = reading.of(counters);
+            out.append(name).append("{solver=\"").append(counters.name).append("\"} ")
+               .append(value == Math.rint(value) && Math.abs(value) < 1e15
+                       ? Long.toString((long) value) : Double.toString(value))
+               .append('\n');
+        }
+    }
+
+    public static void exportTo(Path file) throws IOException {
+        Files.writeString(file, export());
+    }
+
+    // Per-call cost of the probes: disabled, registry only
+    public static void runExperiments() {
+        System.out.println("=== SOLVER METRICS OVERHEAD ===\n");
+
+        int calls = 20000;
+        Random rand = new Random(42); // Fixed seed for reproducibility
+        byte[][] matrix = LargestZeroSubMatrix.generateRandomMatrix(50, 50, 0.7, rand);
+        WeightedSubstring ws = new WeightedSubstring(10.0, 1.0, 10.0);
+        String s1 = WeightedSubstring.generateRandomString(50, rand);
+        String s2 = WeightedSubstring.generateRandomString(50, rand);
+
+        System.out.println("Solver                | Disabled(us) | Enabled(us) | Overhead(us)");
+        System.out.println("-------------------------------------------------------------------");
+
+        boolean wasEnabled = enabled;
+        try {
+            for (int solver = 0; solver < 2; solver++) {
+                double[] perCall = new double[2];
+                for (int round = 0; round < 5; round++) {
+                    for (int mode = 0; mode < 2; mode++) {
+                        setEnabled(mode == 1);
+                        long startTime = System.nanoTime();
+                        for (int c = 0; c < calls; c++) {
+                            if (solver == 0) {
+                                LargestZeroSubMatrix.findLargestZeroSquare(matrix);
+                            } else {
+                                ws.findBestSubstring(s1, s2);
+                            }
+                        }
+                        // Last round only, after warm-up
+                        perCall[mode] = (System.nanoTime() - startTime) / (double) calls / 1000.0;
+                    }
+                }
+                System.out.printf("%-21s | %12.2f | %11.2f | %12.2f\n",
+                        (solver == 0) ? "50 x 50 zero square" : "50 x 50 substring",
+                        perCall[0], perCall[1], perCall[1] - perCall[0]);
+            }
+        } finally {
+            setEnabled(wasEnabled);
+        }
+    }
+
+    // Runs both solvers with the registry on, then prints or writes the export
+    public static void main(String[] args) throws IOException {
+        runExperiments();
+
+        reset();
+        setEnabled(true);
+        Random rand = new Random(42); // Fixed seed for reproducibility
+        WeightedSubstring ws = new WeightedSubstring(10.0, 1.0, 10.0);
+        for (int size : new int[] {100, 500, 1000}) {
+            LargestZeroSubMatrix.findLargestZeroSquare(
+                    LargestZeroSubMatrix.generateRandomMatrix(size, size, 0.7, rand));
+            ws.findBestSubstring(WeightedSubstring.generateRandomString(size, rand),
+                                 WeightedSubstring.generateRandomString(size, rand));
+        }
+
+        System.out.println();
+        if (args.length > 0) {
+            exportTo(Paths.get(args[0]));
+            System.out.println("Metrics written to " + args[0]);
+        } else {
+            System.out.print(export());
+        }
+    }
+}
@@ -0,0 +1,253 @@
+import java.util.*;
+import java.util.function.*;
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+
+// Best weighted approximate match of a fixed pattern s1 inside an unbounded byte
+// stream s2 (one byte per character). The DP is evaluated one stream byte at a
+// time as a column: cell (i, j) only needs (i-1, j-1) from the previous column,
+// so updating the column bottom-up in place keeps O(|s1|) state. A ring buffer of
+// the last |s1| + 1 bytes lets matches report their substring from the stream.
+public class StreamingSubstringScanner {
+    private static final int READ_BUFFER_BYTES = 64 << 10;
+    private static final long MAP_WINDOW_BYTES = 64L << 20;
+
+    private final String pattern;
+    private final double[][] scoreRows;  // scoreRows[b][i] = score of s1[i] against byte b
+
+    // A match with absolute offsets into the stream
+    static class StreamMatch {
+        double score;
+        int start1;
+        long start2;
+        int length;
+        String substring1, substring2;
+
+        StreamMatch(double score, int start1, long start2, int length,
+                    String substring1, String substring2) {
+            this.score = score;
+            this.start1 = start1;
+            this.start2 = start2;
+            this.length = length;
+            this.substring1 = substring1;
+            this.substring2 = substring2;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Score: %.2f\nPosition in pattern: %d\nStream offset: %d\n" +
+                            "Length: %d\nSubstring1: %s\nSubstring2: %s",
+                    score, start1, start2, length, substring1, substring2);
+        }
+    }
+
+    public StreamingSubstringScanner(WeightedSubstring scoring, String pattern) {
+        WeightedSubstring.ScoreTable table = scoring.scoreTable();
+        this.pattern = pattern;
+        this.scoreRows = new double[256][pattern.length()];
+        for (int b = 0; b < 256; b++) {
+            for (int i = 0; i < pattern.length(); i++) {
+                scoreRows[b][i] = table.score(pattern.charAt(i), (char) b);
+            }
+        }
+    }
+
+    public StreamMatch scan(InputStream in) throws IOException {
+        return scan(Channels.newChannel(in));
+    }
+
+    // Same result as findBestSubstring(pattern, stream contents), with a long start2
+    public StreamMatch scan(ReadableByteChannel in) throws IOException {
+        return scan(in, Double.POSITIVE_INFINITY, null);
+    }
+
+    // Also reports every local maximum scoring at least threshold to onLocalMax as soon
+    // as the run on its diagonal starts to fall (or the diagonal or stream ends)
+    public StreamMatch scan(ReadableByteChannel in, double threshold, Consumer<StreamMatch> onLocalMax)
+            throws IOException {
+        Scan scan = new Scan(threshold, onLocalMax);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_BYTES);
+        while (in.read(buffer) >= 0) {
+            buffer.flip();
+            scan.feed(buffer);
+            buffer.clear();
+        }
+        return scan.finish();
+    }
+
+    public StreamMatch scan(Path file) throws IOException {
+        return scan(file, Double.POSITIVE_INFINITY, null);
+    }
+
+    // Memory-mapped file, read in windows straight from the page cache
+    public StreamMatch scan(Path file, double threshold, Consumer<StreamMatch> onLocalMax) throws IOException {
+        Scan scan = new Scan(threshold, onLocalMax);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += MAP_WINDOW_BYTES) {
+                long length = Math.min(MAP_WINDOW_BYTES, size - position);
+                scan.feed(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+            }
+        }
+        return scan.finish();
+    }
+
+    // State of one pass over a stream
+    private final class Scan {
+        private final int m = pattern.length();
+        private final double[] run = new double[m + 1];     // run[i] = dp at (i, j), run[0] = 0
+        private final int[] length = new int[m + 1];
+        private final boolean[] peak = new boolean[m + 1];  // run[i] may still be a local maximum
+        private final byte[] ring = new byte[m + 1];        // last m + 1 stream bytes
+        private long consumed = 0;                          // j, 1-based like the DP table
+
+        private final double threshold;
+        private final Consumer<StreamMatch> onLocalMax;
+
+        private double bestScore = 0;
+        private int bestI = 0, bestLength = 0;
+        private long bestJ = 0;
+        private String bestSubstring2 = "";
+
+        Scan(double threshold, Consumer<StreamMatch> onLocalMax) {
+            if (onLocalMax != null && !(threshold > 0)) {
+                throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+            }
+            this.threshold = threshold;
+            this.onLocalMax = onLocalMax;
+        }
+
+        void feed(ByteBuffer buffer) {
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                long j = ++consumed;
+                ring[(int) (j % ring.length)] = b;
+                double[] scores = scoreRows[b & 0xFF];
+
+                // Bottom-up so run[i - 1] still holds column j - 1
+                for (int i = m; i >= 1; i--) {
+                    double previous = run[i - 1];
+                    double next = previous + scores[i - 1];
+                    boolean extend = next > 0;
+                    double value = extend ? next : 0;
+
+                    if (onLocalMax != null) {
+                        if (peak[i - 1] && value < previous && previous >= threshold) {
+                            emit(previous, i - 1, j - 1, length[i - 1]);
+                        }
+                        peak[i] = value > previous || (value == previous && value > 0 && peak[i - 1]);
+                        if (i == m && peak[i] && value >= threshold) {
+                            // The diagonal ends at the last pattern character
+                            emit(value, i, j, extend ? length[i - 1] + 1 : 0);
+                            peak[i] = false;
+                        }
+                    }
+
+                    length[i] = extend ? length[i - 1] + 1 : 0;
+                    run[i] = value;
+
+                    // Row-major order of the DP table decides ties
+                    if (value >= bestScore && value > 0 && (value > bestScore || i < bestI)) {
+                        bestScore = value;
+                        bestI = i;
+                        bestJ = j;
+                        bestLength = length[i];
+                        bestSubstring2 = recent(j, bestLength);
+                    }
+                }
+            }
+        }
+
+        StreamMatch finish() {
+            if (onLocalMax != null) {
+                // Diagonals cut off by the end of the stream
+                for (int i = 1; i <= m; i++) {
+                    if (peak[i] && run[i] >= threshold) {
+                        emit(run[i], i, consumed, length[i]);
+                    }
+                }
+            }
+            if (bestLength == 0) {
+                return new StreamMatch(0, -1, -1, 0, "", "");
+            }
+            return new StreamMatch(bestScore, bestI - bestLength, bestJ - bestLength, bestLength,
+                    pattern.substring(bestI - bestLength, bestI), bestSubstring2);
+        }
+
+        private void emit(double score, int i, long j, int runLength) {
+            onLocalMax.accept(new StreamMatch(score, i - runLength, j - runLength, runLength,
+                    pattern.substring(i - runLength, i), recent(j, runLength)));
+        }
+
+        // Stream bytes (j - count, j], still held by the ring buffer
+        private String recent(long j, int count) {
+            char[] chars = new char[count];
+            for (int k = 0; k < count; k++) {
+                chars[k] = (char) (ring[(int) ((j - count + 1 + k) % ring.length)] & 0xFF);
+            }
+            return new String(chars);
+        }
+    }
+
+    // Throughput on generated files with the pattern planted near the end
+    public static void runExperiments(Path directory) throws IOException {
+        System.out.println("=== STREAMING WEIGHTED SUBSTRING SCAN ===\n");
+
+        long[] streamSizes = {1L << 20, 4L << 20, 16L << 20};
+        int patternLength = 64;
+        WeightedSubstring scoring = new WeightedSubstring(10.0, 1.0, 10.0);
+        Random rand = new Random(42); // Fixed seed for reproducibility
+        String pattern = WeightedSubstring.generateRandomString(patternLength, rand);
+        StreamingSubstringScanner scanner = new StreamingSubstringScanner(scoring, pattern);
+
+        System.out.println("Stream (MB) | Score    | Offset     | Stream(MB/s) | Mapped(MB/s) | Callback(MB/s) | Local Maxima");
+        System.out.println("------------------------------------------------------------------------------------------------------");
+
+        for (long size : streamSizes) {
+            Path file = directory.resolve("stream_" + size + ".txt");
+            try {
+                long plantAt = size - 4096;
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                    for (long p = 0; p < size; p++) {
+                        long k = p - plantAt;
+                        out.write((k >= 0 && k < patternLength) ? pattern.charAt((int) k) : 'A' + rand.nextInt(26));
+                    }
+                }
+                double sizeMB = size / (1024.0 * 1024.0);
+
+                long startTime = System.nanoTime();
+                StreamMatch streamed;
+                try (InputStream in = Files.newInputStream(file)) {
+                    streamed = scanner.scan(in);
+                }
+                double streamTime = (System.nanoTime() - startTime) / 1e9;
+
+                startTime = System.nanoTime();
+                StreamMatch mapped = scanner.scan(file);
+                double mappedTime = (System.nanoTime() - startTime) / 1e9;
+
+                long[] maxima = {0};
+                startTime = System.nanoTime();
+                scanner.scan(file, 30.0, match -> maxima[0]++);
+                double callbackTime = (System.nanoTime() - startTime) / 1e9;
+
+                if (mapped.score != streamed.score || mapped.start2 != streamed.start2) {
+                    throw new IllegalStateException("Mapped and streamed scans differ");
+                }
+                System.out.printf("%11.0f | %8.2f | %10d | %12.1f | %12.1f | %14.1f | %d\n",
+                        sizeMB, streamed.score, streamed.start2,
+                        sizeMB / streamTime, sizeMB / mappedTime, sizeMB / callbackTime, maxima[0]);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path directory = (args.length > 0) ? Paths.get(args[0])
+                                           : Paths.get(System.getProperty("java.io.tmpdir"));
+        runExperiments(directory);
+    }
+}
@@ -0,0 +1,346 @@
+import java.util.*;
+
+// One query against a large corpus of stored strings.
+// Built once: every document is encoded with the WeightedSubstring score table
+// and every k-mer is recorded in an inverted index of (document, offset) postings.
+// A query looks up its own k-mers; each hit fixes a diagonal of the (query, document)
+// DP table, and only those diagonals are scanned with the usual weight/penalty
+// scoring. Whenever the best pair of a document contains an exact k-mer match,
+// the score for that document equals findBestSubstring(query, document).score.
+// The pair itself may differ: a pair with the same score on a diagonal without a
+// k-mer hit is never scanned, even if findBestSubstring would pick it on a tie.
+public class SubstringCorpusIndex {
+    public static final int DEFAULT_K = 4;
+
+    private final WeightedSubstring.ScoreTable table;
+    private final List<WeightedSubstring.PreparedString> documents;
+    private final int k;
+    private final long keyMask;
+
+    // Postings in CSR form: keys sorted, postings of keys[t] in [starts[t], starts[t + 1])
+    private final long[] keys;
+    private final int[] starts;
+    private final int[] postingDocs;
+    private final int[] postingOffsets;
+
+    // Per-thread search state, reused across queries
+    private final ThreadLocal<SearchScratch> scratch;
+
+    // A document and its best substring pair against the query
+    static class DocumentHit {
+        int document;
+        WeightedSubstring.SubstringResult result;
+
+        DocumentHit(int document, WeightedSubstring.SubstringResult result) {
+            this.document = document;
+            this.result = result;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Document %d, score %.2f", document, result.score);
+        }
+    }
+
+    public SubstringCorpusIndex(WeightedSubstring scoring, List<String> corpus) {
+        this(scoring, corpus, DEFAULT_K);
+    }
+
+    public SubstringCorpusIndex(WeightedSubstring scoring, List<String> corpus, int k) {
+        this.table = scoring.scoreTable();
+        if (k <= 0 || (long) k * table.codeBits() > 63) {
+            throw new IllegalArgumentException(String.format(
+                    "k must be in [1, %d]: %d", 63 / table.codeBits(), k));
+        }
+        this.k = k;
+        this.keyMask = (1L << (k * table.codeBits())) - 1;
+
+        this.documents = new ArrayList<>(corpus.size());
+        long total = 0;
+        for (String document : corpus) {
+            WeightedSubstring.PreparedString prepared = table.prepare(document);
+            documents.add(prepared);
+            total += Math.max(0, prepared.length() - k + 1);
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many k-mers to index: " + total);
+        }
+
+        // Collect (key, document, offset) for every k-mer
+        long[] allKeys = new long[(int) total];
+        int[] allDocs = new int[(int) total];
+        int[] allOffsets = new int[(int) total];
+        int count = 0;
+        for (int doc = 0; doc < documents.size(); doc++) {
+            byte[] codes = documents.get(doc).codes;
+            long key = 0;
+            for (int pos = 0; pos < codes.length; pos++) {
+                key = ((key << table.codeBits()) | (codes[pos] & 0xFF)) & keyMask;
+                if (pos >= k - 1) {
+                    allKeys[count] = key;
+                    allDocs[count] = doc;
+                    allOffsets[count] = pos - k + 1;
+                    count++;
+                }
+            }
+        }
+
+        // Distinct sorted keys, then a counting sort of postings into their key slots
+        long[] sorted = allKeys.clone();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int t = 0; t < count; t++) {
+            if (t == 0 || sorted[t] != sorted[t - 1]) {
+                sorted[distinct++] = sorted[t];
+            }
+        }
+        this.keys = Arrays.copyOf(sorted, distinct);
+        this.starts = new int[distinct + 1];
+
+        int[] slots = new int[count];
+        for (int t = 0; t < count; t++) {
+            slots[t] = Arrays.binarySearch(keys, allKeys[t]);
+            starts[slots[t] + 1]++;
+        }
+        for (int slot = 0; slot < distinct; slot++) {
+            starts[slot + 1] += starts[slot];
+        }
+
+        this.postingDocs = new int[count];
+        this.postingOffsets = new int[count];
+        int[] next = Arrays.copyOf(starts, distinct);
+        for (int t = 0; t < count; t++) {
+            int target = next[slots[t]]++;
+            postingDocs[target] = allDocs[t];
+            postingOffsets[target] = allOffsets[t];
+        }
+
+        int documentCount = documents.size();
+        this.scratch = ThreadLocal.withInitial(() -> new SearchScratch(documentCount));
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    // Top documents by score (ties to the lower document index), seeded by k-mer hits
+    public List<DocumentHit> search(String query, int topN) {
+        WeightedSubstring.PreparedString prepared = table.prepare(query);
+        byte[] q = prepared.codes;
+
+        // Best per document over the seeded diagonals; each (document, diagonal) is scanned once
+        SearchScratch state = scratch.get();
+        state.begin();
+
+        long key = 0;
+        for (int pos = 0; pos < q.length; pos++) {
+            key = ((key << table.codeBits()) | (q[pos] & 0xFF)) & keyMask;
+            if (pos < k - 1) continue;
+
+            int slot = Arrays.binarySearch(keys, key);
+            if (slot < 0) continue;
+
+            int queryOffset = pos - k + 1;
+            for (int t = starts[slot]; t < starts[slot + 1]; t++) {
+                int doc = postingDocs[t];
+                // Diagonal of the (query, document) table, in findBestSubstring's cell numbering
+                int diagonal = postingOffsets[t] - queryOffset;
+                if (!state.markScanned(((long) doc << 32) | (diagonal & 0xFFFFFFFFL))) continue;
+
+                table.scanDiagonal(q, documents.get(doc).codes, diagonal, state.best(doc));
+            }
+        }
+
+        List<DocumentHit> hits = new ArrayList<>();
+        for (int t = 0; t < state.touchedCount; t++) {
+            int doc = state.touched[t];
+            WeightedSubstring.DiagonalBest best = state.bests[doc];
+            if (best.score > 0) {
+                hits.add(hit(prepared, doc, best));
+            }
+        }
+        return topN(hits, topN);
+    }
+
+    // Exact fallback: full scan of every document, for measuring recall of search()
+    public List<DocumentHit> searchExact(String query, int topN) {
+        WeightedSubstring.PreparedString prepared = table.prepare(query);
+        List<DocumentHit> hits = new ArrayList<>();
+        for (int doc = 0; doc < documents.size(); doc++) {
+            WeightedSubstring.SubstringResult result = table.findBestSubstring(prepared, documents.get(doc));
+            if (result.score > 0) {
+                hits.add(new DocumentHit(doc, result));
+            }
+        }
+        return topN(hits, topN);
+    }
+
+    // Bests per document and the set of scanned (document, diagonal) keys. Both are
+    // cleared in time proportional to the previous query's hits, not the corpus size.
+    private static final class SearchScratch {
+        private static final long EMPTY = Long.MIN_VALUE;  // no document has index 2^31
+
+        final WeightedSubstring.DiagonalBest[] bests;
+        final int[] touched;        // documents with a scanned diagonal, in first-hit order
+        int touchedCount = 0;
+        private final boolean[] isTouched;
+
+        private long[] scanned = new long[64];  // open addressing, linear probing
+        private int scannedCount = 0;
+
+        SearchScratch(int documentCount) {
+            this.bests = new WeightedSubstring.DiagonalBest[documentCount];
+            this.touched = new int[documentCount];
+            this.isTouched = new boolean[documentCount];
+            Arrays.fill(scanned, EMPTY);
+        }
+
+        void begin() {
+            for (int t = 0; t < touchedCount; t++) {
+                isTouched[touched[t]] = false;
+            }
+            touchedCount = 0;
+            if (scannedCount > 0) {
+                Arrays.fill(scanned, EMPTY);
+                scannedCount = 0;
+            }
+        }
+
+        // Best so far for doc, reset on its first hit of the query
+        WeightedSubstring.DiagonalBest best(int doc) {
+            if (!isTouched[doc]) {
+                isTouched[doc] = true;
+                touched[touchedCount++] = doc;
+                if (bests[doc] == null) {
+                    bests[doc] = new WeightedSubstring.DiagonalBest();
+                } else {
+                    bests[doc].set(0, 0, 0, 0);
+                }
+            }
+            return bests[doc];
+        }
+
+        // False if key was already in the set
+        boolean markScanned(long key) {
+            if (2 * (scannedCount + 1) > scanned.length) {
+                rehash();
+            }
+            int mask = scanned.length - 1;
+            int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+            while (scanned[slot] != EMPTY) {
+                if (scanned[slot] == key) return false;
+                slot = (slot + 1) & mask;
+            }
+            scanned[slot] = key;
+            scannedCount++;
+            return true;
+        }
+
+        private void rehash() {
+            long[] old = scanned;
+            scanned = new long[old.length * 2];
+            Arrays.fill(scanned, EMPTY);
+            scannedCount = 0;
+            for (long key : old) {
+                if (key != EMPTY) markScanned(key);
+            }
+        }
+    }
+
+    private DocumentHit hit(WeightedSubstring.PreparedString query, int doc, WeightedSubstring.DiagonalBest best) {
+        return new DocumentHit(doc, WeightedSubstring.buildResult(query.text, documents.get(doc).text,
+                best.score, best.i, best.j, best.length));
+    }
+
+    private static List<DocumentHit> topN(List<DocumentHit> hits, int topN) {
+        hits.sort((a, b) -> a.result.score != b.result.score
+                ? Double.compare(b.result.score, a.result.score)
+                : Integer.compare(a.document, b.document));
+        return new ArrayList<>(hits.subList(0, Math.min(topN, hits.size())));
+    }
+
+    // Recall of the seeded search against the exact fallback on a random corpus
+    // with noisy copies of query fragments planted in some documents
+    public static void runExperiments() {
+        System.out.println("=== K-MER CORPUS INDEX ===\n");
+
+        int[] corpusSizes = {1000, 10000, 50000};
+        int documentLength = 200;
+        int queryLength = 100;
+        int queries = 5;
+        int topN = 10;
+        WeightedSubstring scoring = new WeightedSubstring(10.0, 1.0, 10.0);
+        Random rand = new Random(42); // Fixed seed for reproducibility
+
+        System.out.println("Documents | k | Index(ms) | Seeded(ms/query) | Exact(ms/query) | Recall@" + topN);
+        System.out.println("-----------------------------------------------------------------------------");
+
+        for (int corpusSize : corpusSizes) {
+            String[] queryStrings = new String[queries];
+            for (int q = 0; q < queries; q++) {
+                queryStrings[q] = WeightedSubstring.generateRandomString(queryLength, rand);
+            }
+
+            List<String> corpus = new ArrayList<>(corpusSize);
+            for (int doc = 0; doc < corpusSize; doc++) {
+                StringBuilder document = new StringBuilder(
+                        WeightedSubstring.generateRandomString(documentLength, rand));
+                if (doc % 50 == 0) {
+                    // Plant a fragment of a query with a few substitutions
+                    String query = queryStrings[rand.nextInt(queries)];
+                    int from = rand.nextInt(queryLength - 30);
+                    char[] fragment = query.substring(from, from + 30).toCharArray();
+                    for (int e = 0; e < 3; e++) {
+                        fragment[rand.nextInt(fragment.length)] = (char) ('A' + rand.nextInt(26));
+                    }
+                    int at = rand.nextInt(documentLength - fragment.length);
+                    document.replace(at, at + fragment.length, new String(fragment));
+                }
+                corpus.add(document.toString());
+            }
+
+            // Exact answers do not depend on k
+            SubstringCorpusIndex exactIndex = new SubstringCorpusIndex(scoring, corpus, DEFAULT_K);
+            List<List<DocumentHit>> exact = new ArrayList<>();
+            long exactTime = 0;
+            for (String query : queryStrings) {
+                long startTime = System.nanoTime();
+                exact.add(exactIndex.searchExact(query, topN));
+                exactTime += System.nanoTime() - startTime;
+            }
+
+            for (int k : new int[] {3, 4}) {
+                long startTime = System.nanoTime();
+                SubstringCorpusIndex index = new SubstringCorpusIndex(scoring, corpus, k);
+                double indexTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+                long seededTime = 0;
+                int found = 0, expected = 0;
+                for (int q = 0; q < queries; q++) {
+                    startTime = System.nanoTime();
+                    List<DocumentHit> seeded = index.search(queryStrings[q], topN);
+                    seededTime += System.nanoTime() - startTime;
+
+                    Set<Integer> seededDocs = new HashSet<>();
+                    for (DocumentHit hit : seeded) {
+                        seededDocs.add(hit.document);
+                    }
+                    for (DocumentHit hit : exact.get(q)) {
+                        expected++;
+                        if (seededDocs.contains(hit.document)) found++;
+                    }
+                }
+
+                System.out.printf("%9d | %d | %9.1f | %16.3f | %15.3f | %8.3f\n",
+                        corpusSize, k, indexTime,
+                        seededTime / (double) queries / 1_000_000.0,
+                        exactTime / (double) queries / 1_000_000.0,
+                        (double) found / Math.max(1, expected));
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        runExperiments();
+    }
+}
@@ -0,0 +1,175 @@
+import java.util.*;
+
+// Reusable WeightedSubstring solver for many short comparisons.
+// The score table is built once, both inputs are encoded into grow-only code
+// buffers, and the diagonal engine needs no DP arrays, so once the buffers have
+// grown to the longest inputs a solve allocates nothing. Results are spans over
+// the caller's strings; substrings are only copied when asked for.
+// Not thread-safe: use WeightedSubstring.solver() for the calling thread's instance.
+public class SubstringSolver {
+    private final WeightedSubstring.ScoreTable table;
+    private final WeightedSubstring.DiagonalBest best = new WeightedSubstring.DiagonalBest();
+    private final SubstringSpan span = new SubstringSpan();
+    private byte[] codes1 = new byte[0];
+    private byte[] codes2 = new byte[0];
+
+    private long bufferAllocations = 0;
+    private long bufferBytesAllocated = 0;
+
+    // Best substring pair as offsets into the inputs it was solved from
+    static class SubstringSpan {
+        double score;
+        int start1 = -1, start2 = -1;
+        int length;
+        private CharSequence s1, s2;
+        private String substring1, substring2;
+
+        void set(CharSequence s1, CharSequence s2, double score, int start1, int start2, int length) {
+            this.s1 = s1;
+            this.s2 = s2;
+            this.score = score;
+            this.start1 = start1;
+            this.start2 = start2;
+            this.length = length;
+            this.substring1 = null;
+            this.substring2 = null;
+        }
+
+        public String substring1() {
+            if (substring1 == null) {
+                substring1 = (length > 0) ? s1.subSequence(start1, start1 + length).toString() : "";
+            }
+            return substring1;
+        }
+
+        public String substring2() {
+            if (substring2 == null) {
+                substring2 = (length > 0) ? s2.subSequence(start2, start2 + length).toString() : "";
+            }
+            return substring2;
+        }
+
+        WeightedSubstring.SubstringResult toResult() {
+            return new WeightedSubstring.SubstringResult(score, start1, start2, length,
+                    substring1(), substring2());
+        }
+
+        @Override
+        public String toString() {
+            return toResult().toString();
+        }
+    }
+
+    public SubstringSolver(WeightedSubstring scoring) {
+        this.table = scoring.scoreTable();
+    }
+
+    // Same result as findBestSubstring wherever it returns one, in this solver's own span, which the next call overwrites
+    public SubstringSpan solve(CharSequence s1, CharSequence s2) {
+        return solve(s1, s2, span);
+    }
+
+    // Same, written into a caller-owned span
+    public SubstringSpan solve(CharSequence s1, CharSequence s2, SubstringSpan into) {
+        int m = s1.length();
+        int n = s2.length();
+        if (codes1.length < m) codes1 = grow(m);
+        if (codes2.length < n) codes2 = grow(n);
+        table.encode(s1, codes1);
+        table.encode(s2, codes2);
+
+        best.set(0, 0, 0, 0);
+        for (int d = 1 - m; d <= n - 1; d++) {
+            table.scanDiagonal(codes1, m, codes2, n, d, best);
+        }
+
+        if (best.length > 0) {
+            into.set(s1, s2, best.score, best.i - best.length, best.j - best.length, best.length);
+        } else {
+            into.set(s1, s2, 0, -1, -1, 0);
+        }
+        return into;
+    }
+
+    private byte[] grow(int length) {
+        bufferAllocations++;
+        bufferBytesAllocated += length;
+        return new byte[length];
+    }
+
+    public long bufferAllocations() {
+        return bufferAllocations;
+    }
+
+    public long bufferBytesAllocated() {
+        return bufferBytesAllocated;
+    }
+
+    // Allocation per call and throughput for short comparisons: a new WeightedSubstring
+    // per call (as runScenario did), findBestSubstring on a shared instance, and the reusable solver
+    public static void runExperiments() {
+        System.out.println("=== REUSABLE SUBSTRING SOLVER ===\n");
+
+        int[] lengths = {16, 32, 64, 128};
+        int pairs = 1000;
+        long cellsPerRound = 20_000_000;
+        Random rand = new Random(42); // Fixed seed for reproducibility
+
+        System.out.println("Lengths   | Method              | Bytes/call | Calls/s    | Match");
+        System.out.println("--------------------------------------------------------------------");
+
+        for (int len : lengths) {
+            String[] s1 = new String[pairs];
+            String[] s2 = new String[pairs];
+            for (int p = 0; p < pairs; p++) {
+                s1[p] = WeightedSubstring.generateRandomString(len, rand);
+                s2[p] = WeightedSubstring.generateRandomString(len, rand);
+            }
+            WeightedSubstring shared = new WeightedSubstring(10.0, 1.0, 10.0);
+            SubstringSolver solver = shared.solver();
+            int calls = (int) (cellsPerRound / ((long) len * len));
+
+            boolean match = true;
+            for (int p = 0; p < pairs; p++) {
+                WeightedSubstring.SubstringResult expected = shared.findBestSubstring(s1[p], s2[p]);
+                SubstringSpan actual = solver.solve(s1[p], s2[p]);
+                match &= expected.score == actual.score && expected.start1 == actual.start1
+                        && expected.start2 == actual.start2 && expected.length == actual.length
+                        && expected.substring1.equals(actual.substring1())
+                        && expected.substring2.equals(actual.substring2());
+            }
+
+            String[] methods = {"new instance + DP", "shared + DP", "reusable solver"};
+            for (int method = 0; method < methods.length; method++) {
+                // Warm up, then measure
+                for (int round = 0; round < 2; round++) {
+                    double checksum = 0;
+                    long bytesBefore = SolverMetrics.threadAllocatedBytes();
+                    long startTime = System.nanoTime();
+                    for (int c = 0; c < calls; c++) {
+                        int p = c % pairs;
+                        if (method == 0) {
+                            checksum += new WeightedSubstring(10.0, 1.0, 10.0).findBestSubstring(s1[p], s2[p]).score;
+                        } else if (method == 1) {
+                            checksum += shared.findBestSubstring(s1[p], s2[p]).score;
+                        } else {
+                            checksum += solver.solve(s1[p], s2[p]).score;
+                        }
+                    }
+                    double time = (System.nanoTime() - startTime) / 1e9;
+                    long bytes = SolverMetrics.threadAllocatedBytes() - bytesBefore;
+
+                    if (round == 1) {
+                        System.out.printf("%3d x %3d | %-19s | %10.0f | %10.0f | %s\n",
+                                len, len, methods[method], bytes / (double) calls, calls / time,
+                                (checksum > 0 && match) ? "YES" : "NO");
+                    }
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        runExperiments();
+    }
+}
@@ -0,0 +1,104 @@
+import jdk.incubator.vector.*;
+
+// SIMD kernel for the zero-square DP, using jdk.incubator.vector.
+// Requires --add-modules jdk.incubator.vector at compile and run time; callers go
+// through LargestZeroSubMatrix.findLargestZeroSquareVectorized, which falls back
+// to the scalar kernel when the module is missing.
+//
+// The row update dp[j] = 1 + min(diag, up, left) is split in two passes:
+//   t[j]  = zero ? 1 + min(prev[j-1], prev[j]) : 0      (no left dependency)
+//   dp[j] = min(t[j], dp[j-1] + 1)                      (same thing, since t = 0 on ones)
+// and the second pass unrolls to dp[j] = j + min_{k<=j}(t[k] - k), a prefix minimum
+// that is computed inside each vector with log2(lanes) shifted mins plus a carry.
+final class VectorZeroSquare {
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTES =
+        VectorSpecies.of(byte.class, VectorShape.forBitSize(INTS.length() * 8));
+    private static final int LANES = INTS.length();
+    private static final IntVector IOTA = IntVector.zero(INTS).addIndex(1);
+    private static final IntVector INFINITY = IntVector.broadcast(INTS, Integer.MAX_VALUE);
+
+    private VectorZeroSquare() {
+    }
+
+    static LargestZeroSubMatrix.MatrixResult findLargestZeroSquare(byte[][] matrix) {
+        if (matrix == null || matrix.length == 0 || matrix[0].length == 0) {
+            return new LargestZeroSubMatrix.MatrixResult(0, -1, -1);
+        }
+
+        int m = matrix.length;
+        int n = matrix[0].length;
+        int upper = INTS.loopBound(n);
+
+        // prev[j+1] = dp[i-1][j], prev[0] = 0 is the column -1 sentinel
+        int[] prev = new int[n + 1];
+        int[] cur = new int[n + 1];
+
+        int maxSize = 0;
+        int maxRow = -1, maxCol = -1;
+
+        for (int i = 0; i < m; i++) {
+            byte[] row = matrix[i];
+            int carry = Integer.MAX_VALUE;  // min_{k<j}(t[k] - k) so far
+            int j = 0;
+
+            for (; j < upper; j += LANES) {
+                IntVector cells = (IntVector) ByteVector.fromArray(BYTES, row, j)
+                    .convertShape(VectorOperators.B2I, INTS, 0);
+                IntVector diag = IntVector.fromArray(INTS, prev, j);
+                IntVector up = IntVector.fromArray(INTS, prev, j + 1);
+                IntVector index = IOTA.add(j);
+
+                IntVector t = diag.min(up).add(1).blend(0, cells.compare(VectorOperators.NE, 0));
+
+                // Prefix minimum of t[k] - k across lanes, then fold in the carry
+                IntVector u = t.sub(index);
+                for (int shift = 1; shift < LANES; shift <<= 1) {
+                    u = u.min(INFINITY.slice(LANES - shift, u));
+                }
+                u = u.min(carry);
+                carry = u.lane(LANES - 1);
+
+                IntVector dp = u.add(index);
+                dp.intoArray(cur, j + 1);
+
+                int vmax = dp.reduceLanes(VectorOperators.MAX);
+                if (vmax > maxSize) {
+                    // Sequential scan order: first lane reaching the new maximum
+                    int lane = dp.compare(VectorOperators.EQ, vmax).firstTrue();
+                    maxSize = vmax;
+                    maxRow = i;
+                    maxCol = j + lane;
+                }
+            }
+
+            // Scalar tail
+            for (; j < n; j++) {
+                int t = (row[j] != 0) ? 0 : 1 + Math.min(prev[j], prev[j + 1]);
+                carry = Math.min(carry, t - j);
+                int value = carry + j;
+                cur[j + 1] = value;
+                if (value > maxSize) {
+                    maxSize = value;
+                    maxRow = i;
+                    maxCol = j;
+                }
+            }
+
+            if (maxSize == 1 && maxRow > 0 && maxCol > 0 && cur[1] == 1) {
+                // findLargestZeroSquare scans the first column before the interior
+                maxRow = i;
+                maxCol = 0;
+            }
+
+            int[] tmp = prev; prev = cur; cur = tmp;
+        }
+
+        // Calculate top-left corner from bottom-right corner
+        if (maxSize > 0) {
+            maxRow = maxRow - maxSize + 1;
+            maxCol = maxCol - maxSize + 1;
+        }
+        return new LargestZeroSubMatrix.MatrixResult(maxSize, maxRow, maxCol);
+    }
+}
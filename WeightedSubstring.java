@@ -1,9 +1,11 @@
 import java.util.*;
+import java.util.concurrent.*;
 import java.io.*;
 
 public class WeightedSubstring {
     private double[] weights;
     private double penalty;
+    private final ThreadLocal<SubstringSolver> solvers = ThreadLocal.withInitial(() -> new SubstringSolver(this));
 
     // Letter frequencies in English (approximate percentages)
     private static final double[] ENGLISH_FREQ = {
@@ -37,6 +39,27 @@ public class WeightedSubstring {
         }
     }
 
+    // Result of a pruned search, with how much of the DP table was skipped
+    static class PrunedResult {
+        SubstringResult result;
+        long cellsPruned, cellsScanned;
+        int diagonalsPruned;
+
+        PrunedResult(SubstringResult result, long cellsPruned, long cellsScanned, int diagonalsPruned) {
+            this.result = result;
+            this.cellsPruned = cellsPruned;
+            this.cellsScanned = cellsScanned;
+            this.diagonalsPruned = diagonalsPruned;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s\nCells pruned: %d of %d (%.1f%%), diagonals pruned: %d",
+                    result, cellsPruned, cellsPruned + cellsScanned,
+                    100.0 * cellsPruned / Math.max(1, cellsPruned + cellsScanned), diagonalsPruned);
+        }
+    }
+
     public WeightedSubstring(int scenario, double penalty) {
         this.penalty = penalty;
         this.weights = new double[26];
@@ -81,6 +104,7 @@ public class WeightedSubstring {
     public SubstringResult findBestSubstring(String s1, String s2) {
         int m = s1.length();
         int n = s2.length();
+        SolverMetrics.Probe probe = SolverMetrics.beginSubstring(m, n);
 
         // DP table: dp[i][j] = max score for substring ending at s1[i-1], s2[j-1]
         double[][] dp = new double[m + 1][n + 1];
@@ -89,6 +113,7 @@ public class WeightedSubstring {
         // Variables to track best solution
         double maxScore = 0;
         int maxI = 0, maxJ = 0, maxLength = 0;
+        if (probe != null) probe.mark();
 
         // Fill DP table
         for (int i = 1; i <= m; i++) {
@@ -126,17 +151,778 @@ public class WeightedSubstring {
             }
         }
 
+        if (probe != null) probe.mark();
+
         // Extract the optimal substring
+        SubstringResult result;
         if (maxLength > 0) {
             int start1 = maxI - maxLength;
             int start2 = maxJ - maxLength;
             String substring1 = s1.substring(start1, maxI);
             String substring2 = s2.substring(start2, maxJ);
 
-            return new SubstringResult(maxScore, start1, start2, maxLength,
+            result = new SubstringResult(maxScore, start1, start2, maxLength,
                     substring1, substring2);
+        } else {
+            result = new SubstringResult(0, -1, -1, 0, "", "");
+        }
+
+        if (probe != null) {
+            probe.mark();
+            SolverMetrics.endSubstring(probe, result);
+        }
+        return result;
+    }
+
+    // Linear-space engine: dp[i][j] only depends on dp[i-1][j-1], so each diagonal
+    // is an independent Kadane-style scan needing O(1) state. Same result as
+    // findBestSubstring, including which cell wins ties.
+    public SubstringResult findBestSubstringLinear(String s1, String s2) {
+        DiagonalBest best = new DiagonalBest();
+        scanDiagonals(s1, s2, 1 - s1.length(), s2.length() - 1, best);
+        return buildResult(s1, s2, best.score, best.i, best.j, best.length);
+    }
+
+    // Engine for uniform weights (scenario 1): a diagonal's scores only depend on
+    // where the strings match, so match bits are built 64 cells at a time from
+    // per-symbol position masks (Peq), and Kadane steps over whole runs of matches
+    // and mismatches. Arithmetic is done cell by cell within a run, so scores are
+    // bit-identical to findBestSubstring. Mismatch runs are only walked while the
+    // running score is positive, which needs a non-negative penalty; other weights
+    // and negative penalties use findBestSubstringLinear.
+    public SubstringResult findBestSubstringUniform(String s1, String s2) {
+        double weight = weights[0];
+        for (double w : weights) {
+            if (w != weight) {
+                return findBestSubstringLinear(s1, s2);
+            }
+        }
+        if (!(weight > 0) || penalty < 0) {
+            return findBestSubstringLinear(s1, s2);
+        }
+
+        ScoreTable table = scoreTable();
+        byte[] a = table.prepare(s1).codes;
+        byte[] b = table.prepare(s2).codes;
+        int m = a.length;
+        int n = b.length;
+
+        // Peq masks for symbols occurring in both strings; the others never match,
+        // and neither does the code for characters outside the alphabet
+        long[][] peq1 = new long[table.size()][];
+        long[][] peq2 = new long[table.size()][];
+        for (int k = 0; k < m; k++) {
+            int c = a[k];
+            if (c >= table.size()) continue;
+            if (peq1[c] == null) peq1[c] = new long[(m + 63) >>> 6];
+            peq1[c][k >>> 6] |= 1L << k;
+        }
+        for (int k = 0; k < n; k++) {
+            int c = b[k];
+            if (c >= table.size()) continue;
+            if (peq2[c] == null) peq2[c] = new long[(n + 63) >>> 6];
+            peq2[c][k >>> 6] |= 1L << k;
+        }
+        int shared = 0;
+        int[] symbols = new int[table.size()];
+        for (int c = 0; c < table.size(); c++) {
+            if (peq1[c] != null && peq2[c] != null) symbols[shared++] = c;
+        }
+
+        DiagonalBest best = new DiagonalBest();
+        for (int d = 1 - m; d <= n - 1; d++) {
+            // s1 positions p in [from, to) pair with s2 positions p + d
+            int from = Math.max(0, -d);
+            int to = Math.min(m, n - d);
+            double run = 0;
+            int runLength = 0;
+
+            for (int base = from & ~63; base < to; base += 64) {
+                long match = 0;
+                for (int s = 0; s < shared; s++) {
+                    int c = symbols[s];
+                    match |= peq1[c][base >>> 6] & bitsAt(peq2[c], base + d);
+                }
+
+                int p = Math.max(base, from);
+                int end = Math.min(base + 64, to);
+                while (p < end) {
+                    long rest = match >>> (p - base);
+
+                    // Mismatches: the run only drops, and stays 0 once it resets
+                    int mismatches = Math.min(Long.numberOfTrailingZeros(rest), end - p);
+                    for (int k = 0; k < mismatches && run > 0; k++) {
+                        if (run + -penalty > 0) {
+                            run = run + -penalty;
+                            runLength++;
+                        } else {
+                            run = 0;
+                            runLength = 0;
+                        }
+                    }
+                    p += mismatches;
+                    if (p >= end) break;
+
+                    // Matches: the run rises, so its last cell is the only candidate
+                    int matches = Math.min(Long.numberOfTrailingZeros(~(rest >>> mismatches)), end - p);
+                    for (int k = 0; k < matches; k++) {
+                        run = run + weight;
+                    }
+                    runLength += matches;
+                    p += matches;
+
+                    // Last match is cell (i, j) = (p, p + d), 1-based like the DP table
+                    if (best.offer(run, p, p + d)) {
+                        best.set(run, p, p + d, runLength);
+                    }
+                }
+            }
+        }
+        return buildResult(s1, s2, best.score, best.i, best.j, best.length);
+    }
+
+    // 64 bits of a bitset starting at bit start; bits outside the set read as 0
+    private static long bitsAt(long[] words, int start) {
+        int word = start >> 6;
+        int shift = start & 63;
+        long low = (word >= 0 && word < words.length) ? words[word] : 0;
+        if (shift == 0) {
+            return low;
+        }
+        long high = (word + 1 >= 0 && word + 1 < words.length) ? words[word + 1] : 0;
+        return (low >>> shift) | (high << (64 - shift));
+    }
+
+    // Parallel engine: diagonals are independent, so they are split into chunks of
+    // roughly equal cell counts and scanned on a ForkJoinPool
+    public SubstringResult findBestSubstringParallel(String s1, String s2) {
+        return findBestSubstringParallel(s1, s2, ForkJoinPool.commonPool());
+    }
+
+    public SubstringResult findBestSubstringParallel(String s1, String s2, ForkJoinPool pool) {
+        int m = s1.length();
+        int n = s2.length();
+        if (m == 0 || n == 0) {
+            return buildResult(s1, s2, 0, 0, 0, 0);
+        }
+
+        // Diagonal lengths differ, so cut by accumulated cells rather than by count
+        int chunks = Math.max(1, pool.getParallelism() * 4);
+        long cellsPerChunk = Math.max(1, ((long) m * n + chunks - 1) / chunks);
+        List<Integer> bounds = new ArrayList<>();
+        bounds.add(1 - m);
+        long cells = 0;
+        for (int d = 1 - m; d <= n - 1; d++) {
+            cells += Math.min(m, n - d) - Math.max(1, 1 - d) + 1;
+            if (cells >= cellsPerChunk && d < n - 1) {
+                bounds.add(d + 1);
+                cells = 0;
+            }
+        }
+        bounds.add(n);
+
+        DiagonalBest best = pool.invoke(new DiagonalTask(s1, s2, bounds, 0, bounds.size() - 1));
+        return buildResult(s1, s2, best.score, best.i, best.j, best.length);
+    }
+
+    // Scans chunks [from, to) of the diagonal bounds, splitting in halves
+    private class DiagonalTask extends RecursiveTask<DiagonalBest> {
+        private static final long serialVersionUID = 1L;
+
+        private final String s1, s2;
+        private final List<Integer> bounds;
+        private final int from, to;
+
+        DiagonalTask(String s1, String s2, List<Integer> bounds, int from, int to) {
+            this.s1 = s1;
+            this.s2 = s2;
+            this.bounds = bounds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected DiagonalBest compute() {
+            if (to - from == 1) {
+                DiagonalBest best = new DiagonalBest();
+                scanDiagonals(s1, s2, bounds.get(from), bounds.get(to) - 1, best);
+                return best;
+            }
+            int mid = (from + to) >>> 1;
+            DiagonalTask left = new DiagonalTask(s1, s2, bounds, from, mid);
+            left.fork();
+            DiagonalBest best = new DiagonalTask(s1, s2, bounds, mid, to).compute();
+            best.merge(left.join());
+            return best;
+        }
+    }
+
+    // Best cell found so far; ties go to the earlier cell in row-major order,
+    // which is what findBestSubstring's row-by-row scan keeps
+    static class DiagonalBest {
+        double score = 0;
+        int i = 0, j = 0, length = 0;
+
+        boolean offer(double score, int i, int j) {
+            return score > this.score || (score == this.score && score > 0
+                    && (i < this.i || (i == this.i && j < this.j)));
+        }
+
+        void set(double score, int i, int j, int length) {
+            this.score = score;
+            this.i = i;
+            this.j = j;
+            this.length = length;
+        }
+
+        void merge(DiagonalBest other) {
+            if (offer(other.score, other.i, other.j)) {
+                set(other.score, other.i, other.j, other.length);
+            }
+        }
+    }
+
+    // Kadane scan of diagonals dFrom..dTo (inclusive); diagonal d holds cells (i, i + d),
+    // 1-based like the DP table
+    private void scanDiagonals(String s1, String s2, int dFrom, int dTo, DiagonalBest best) {
+        int m = s1.length();
+        int n = s2.length();
+
+        for (int d = dFrom; d <= dTo; d++) {
+            int i = Math.max(1, 1 - d);
+            int j = i + d;
+            double run = 0;
+            int runLength = 0;
+
+            for (; i <= m && j <= n; i++, j++) {
+                char c1 = s1.charAt(i - 1);
+                char c2 = s2.charAt(j - 1);
+                double score = (c1 == c2) ? weights[Character.toUpperCase(c1) - 'A'] : -penalty;
+
+                // Either extend previous substring or start new
+                if (run + score > 0) {
+                    run = run + score;
+                    runLength++;
+                } else {
+                    run = 0;
+                    runLength = 0;
+                }
+
+                if (best.offer(run, i, j)) {
+                    best.set(run, i, j, runLength);
+                }
+            }
         }
+    }
+
+    // The k best locally maximal segment pairs, best first, from a single diagonal sweep.
+    // Each Kadane run on a diagonal contributes one candidate, ending at the first cell
+    // where the run peaks, so no returned pair contains another on the same diagonal.
+    // Ranking is by score, ties to the row-major earliest end cell; the first entry
+    // is findBestSubstring's result. With excludeOverlaps, a candidate is dropped when
+    // it overlaps a better kept pair in s1 or in s2, and evicts the worse kept pairs
+    // it overlaps; dropped pairs are not reconsidered, so this stays one pass.
+    public List<SubstringResult> findTopSubstrings(String s1, String s2, int k, boolean excludeOverlaps) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be non-negative: " + k);
+        }
+        int m = s1.length();
+        int n = s2.length();
+        SegmentHeap heap = new SegmentHeap(k, n);
+
+        for (int d = 1 - m; d <= n - 1; d++) {
+            int i = Math.max(1, 1 - d);
+            int j = i + d;
+            double run = 0;
+            int runLength = 0;
+            double peak = 0;
+            int peakI = 0, peakLength = 0;
+
+            for (; i <= m && j <= n; i++, j++) {
+                char c1 = s1.charAt(i - 1);
+                char c2 = s2.charAt(j - 1);
+                double score = (c1 == c2) ? weights[Character.toUpperCase(c1) - 'A'] : -penalty;
+
+                if (run + score > 0) {
+                    run = run + score;
+                    runLength++;
+                    if (run > peak) {
+                        peak = run;
+                        peakI = i;
+                        peakLength = runLength;
+                    }
+                } else {
+                    // Run ended: its peak is the candidate
+                    if (peak > 0) {
+                        heap.offer(peak, peakI, peakI + d, peakLength, excludeOverlaps);
+                    }
+                    run = 0;
+                    runLength = 0;
+                    peak = 0;
+                }
+            }
+            if (peak > 0) {
+                heap.offer(peak, peakI, peakI + d, peakLength, excludeOverlaps);
+            }
+        }
+
+        return heap.drainBestFirst(s1, s2);
+    }
+
+    // Bounded min-heap of segment pairs keyed by (score, end cell); the worst kept pair is at the root
+    private static class SegmentHeap {
+        private final int capacity;
+        private final int n;
+        private final double[] scores;
+        private final int[] ends1, ends2, lengths;
+        private int count = 0;
+
+        SegmentHeap(int capacity, int n) {
+            this.capacity = capacity;
+            this.n = n;
+            this.scores = new double[capacity];
+            this.ends1 = new int[capacity];
+            this.ends2 = new int[capacity];
+            this.lengths = new int[capacity];
+        }
+
+        void offer(double score, int i, int j, int length, boolean excludeOverlaps) {
+            if (capacity == 0 || (count == capacity && !worse(scores[0], ends1[0], ends2[0], score, i, j))) {
+                return;
+            }
+
+            if (excludeOverlaps) {
+                // Any better overlapping pair rules the candidate out
+                for (int idx = 0; idx < count; idx++) {
+                    if (overlaps(idx, i, j, length) && !worse(scores[idx], ends1[idx], ends2[idx], score, i, j)) {
+                        return;
+                    }
+                }
+                removeOverlapping(i, j, length);
+            }
+
+            if (count < capacity) {
+                place(count, score, i, j, length);
+                siftUp(count++);
+            } else {
+                place(0, score, i, j, length);
+                siftDown(0);
+            }
+        }
+
+        // (score1, i1, j1) ranks below (score2, i2, j2): lower score, or same score but later in row-major order
+        private boolean worse(double score1, int i1, int j1, double score2, int i2, int j2) {
+            if (score1 != score2) return score1 < score2;
+            return (long) i1 * (n + 1) + j1 > (long) i2 * (n + 1) + j2;
+        }
+
+        private boolean worse(int a, int b) {
+            return worse(scores[a], ends1[a], ends2[a], scores[b], ends1[b], ends2[b]);
+        }
+
+        // Half-open ranges (end - length, end] intersect in s1 or in s2
+        private boolean overlaps(int idx, int i, int j, int length) {
+            boolean in1 = ends1[idx] - lengths[idx] < i && i - length < ends1[idx];
+            boolean in2 = ends2[idx] - lengths[idx] < j && j - length < ends2[idx];
+            return in1 || in2;
+        }
+
+        private void place(int idx, double score, int i, int j, int length) {
+            scores[idx] = score;
+            ends1[idx] = i;
+            ends2[idx] = j;
+            lengths[idx] = length;
+        }
+
+        // Compact away kept pairs overlapping the candidate, then restore heap order
+        private void removeOverlapping(int i, int j, int length) {
+            int kept = 0;
+            for (int idx = 0; idx < count; idx++) {
+                if (!overlaps(idx, i, j, length)) {
+                    place(kept++, scores[idx], ends1[idx], ends2[idx], lengths[idx]);
+                }
+            }
+            if (kept < count) {
+                count = kept;
+                for (int idx = count / 2 - 1; idx >= 0; idx--) {
+                    siftDown(idx);
+                }
+            }
+        }
+
+        private void siftUp(int idx) {
+            while (idx > 0) {
+                int parent = (idx - 1) / 2;
+                if (!worse(idx, parent)) break;
+                swap(idx, parent);
+                idx = parent;
+            }
+        }
+
+        private void siftDown(int idx) {
+            while (true) {
+                int left = 2 * idx + 1;
+                if (left >= count) break;
+                int child = (left + 1 < count && worse(left + 1, left)) ? left + 1 : left;
+                if (!worse(child, idx)) break;
+                swap(idx, child);
+                idx = child;
+            }
+        }
+
+        private void swap(int a, int b) {
+            double s = scores[a]; scores[a] = scores[b]; scores[b] = s;
+            int t = ends1[a]; ends1[a] = ends1[b]; ends1[b] = t;
+            t = ends2[a]; ends2[a] = ends2[b]; ends2[b] = t;
+            t = lengths[a]; lengths[a] = lengths[b]; lengths[b] = t;
+        }
+
+        List<SubstringResult> drainBestFirst(String s1, String s2) {
+            SubstringResult[] out = new SubstringResult[count];
+            while (count > 0) {
+                out[count - 1] = buildResult(s1, s2, scores[0], ends1[0], ends2[0], lengths[0]);
+                count--;
+                if (count > 0) {
+                    swap(0, count);
+                    siftDown(0);
+                }
+            }
+            return new ArrayList<>(Arrays.asList(out));
+        }
+    }
+
+    // Weights of 'A'-'Z' followed by the penalty: everything that decides a result
+    double[] scoringParameters() {
+        double[] parameters = Arrays.copyOf(weights, 27);
+        parameters[26] = penalty;
+        return parameters;
+    }
+
+    // Reusable solver owned by the calling thread, sharing this instance's weights
+    public SubstringSolver solver() {
+        return solvers.get();
+    }
+
+    // Score table for this instance's letters: 'A'-'Z' and 'a'-'z', where a lowercase
+    // letter only matches itself but is weighted like its uppercase form, as in findBestSubstring
+    public ScoreTable scoreTable() {
+        char[] symbols = new char[52];
+        double[] symbolWeights = new double[52];
+        for (int i = 0; i < 26; i++) {
+            symbols[i] = (char) ('A' + i);
+            symbols[26 + i] = (char) ('a' + i);
+            symbolWeights[i] = weights[i];
+            symbolWeights[26 + i] = weights[i];
+        }
+        return new ScoreTable(symbols, symbolWeights, penalty);
+    }
+
+    // Same result as findBestSubstring, skipping diagonals that cannot beat the best score
+    public PrunedResult findBestSubstringPruned(String s1, String s2) {
+        ScoreTable table = scoreTable();
+        return table.findBestSubstringPruned(table.prepare(s1), table.prepare(s2));
+    }
+
+    // String encoded once into byte codes of a ScoreTable alphabet
+    static class PreparedString {
+        final String text;
+        final byte[] codes;
+
+        PreparedString(String text, byte[] codes) {
+            this.text = text;
+            this.codes = codes;
+        }
+
+        int length() {
+            return codes.length;
+        }
+    }
 
+    // Precomputed alphabet x alphabet scores over byte-coded symbols (up to 255).
+    // scores[(a << bits) | b] is the weight of a when a == b and -penalty otherwise,
+    // so the inner loop is a table lookup instead of charAt, toUpperCase and a branch.
+    // Characters outside the alphabet share one extra code, size(), which scores
+    // -penalty against everything including itself. findBestSubstring only accepts
+    // such characters where they are mismatched (it throws when two identical ones
+    // align), so wherever it returns a result the table gives the same one.
+    static class ScoreTable {
+        public static final int DEFAULT_FIXED_POINT_BITS = 20;
+
+        private final char[] symbols;
+        private final int[] codeOf;     // char -> code, -1 if not in the alphabet
+        private final int bits;         // code width in the table index
+        private final double[] scores;
+        private final double[] symbolWeights;
+        private final double penalty;
+
+        ScoreTable(char[] symbols, double[] symbolWeights, double penalty) {
+            if (symbols.length == 0 || symbols.length > 255) {
+                throw new IllegalArgumentException("Alphabet must have 1 to 255 symbols: " + symbols.length);
+            }
+            if (symbolWeights.length != symbols.length) {
+                throw new IllegalArgumentException(String.format(
+                        "%d weights for %d symbols", symbolWeights.length, symbols.length));
+            }
+
+            int maxChar = 0;
+            for (char c : symbols) {
+                maxChar = Math.max(maxChar, c);
+            }
+            this.symbols = symbols.clone();
+            this.symbolWeights = symbolWeights.clone();
+            this.penalty = penalty;
+            this.codeOf = new int[maxChar + 1];
+            Arrays.fill(codeOf, -1);
+            for (int code = 0; code < symbols.length; code++) {
+                if (codeOf[symbols[code]] >= 0) {
+                    throw new IllegalArgumentException("Duplicate symbol '" + symbols[code] + "'");
+                }
+                codeOf[symbols[code]] = code;
+            }
+
+            // Codes 0 .. symbols.length, the last one for every other character
+            this.bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(symbols.length));
+            this.scores = new double[1 << (2 * bits)];
+            for (int a = 0; a <= symbols.length; a++) {
+                for (int b = 0; b <= symbols.length; b++) {
+                    scores[(a << bits) | b] = (a == b && a < symbols.length) ? symbolWeights[a] : -penalty;
+                }
+            }
+        }
+
+        // Symbols in the alphabet; also the code of every character outside it
+        int size() {
+            return symbols.length;
+        }
+
+        // Score of aligning c1 with c2; -penalty unless they are the same alphabet symbol
+        double score(char c1, char c2) {
+            int code = (c1 < codeOf.length) ? codeOf[c1] : -1;
+            return (c1 == c2 && code >= 0) ? symbolWeights[code] : -penalty;
+        }
+
+        // Bits per symbol code in packed keys
+        int codeBits() {
+            return bits;
+        }
+
+        public PreparedString prepare(String s) {
+            byte[] codes = new byte[s.length()];
+            encode(s, codes);
+            return new PreparedString(s, codes);
+        }
+
+        // Codes of s into codes[0, s.length()); codes may be longer
+        void encode(CharSequence s, byte[] codes) {
+            int other = symbols.length;
+            for (int k = 0; k < s.length(); k++) {
+                char c = s.charAt(k);
+                int code = (c < codeOf.length) ? codeOf[c] : -1;
+                codes[k] = (byte) ((code < 0) ? other : code);
+            }
+        }
+
+        // Same result as findBestSubstring on the original strings, where that returns one
+        public SubstringResult findBestSubstring(PreparedString p1, PreparedString p2) {
+            DiagonalBest best = new DiagonalBest();
+            for (int d = 1 - p1.length(); d <= p2.length() - 1; d++) {
+                scanDiagonal(p1.codes, p2.codes, d, best);
+            }
+            return buildResult(p1.text, p2.text, best.score, best.i, best.j, best.length);
+        }
+
+        // Kadane scan of diagonal d, cells (i, i + d) 1-based like the DP table
+        void scanDiagonal(byte[] a, byte[] b, int d, DiagonalBest best) {
+            scanDiagonal(a, a.length, b, b.length, d, best);
+        }
+
+        // Same, over the first m codes of a and the first n codes of b
+        void scanDiagonal(byte[] a, int m, byte[] b, int n, int d, DiagonalBest best) {
+            int i = Math.max(1, 1 - d);
+            int j = i + d;
+            double run = 0;
+            int runLength = 0;
+
+            for (; i <= m && j <= n; i++, j++) {
+                double next = run + scores[((a[i - 1] & 0xFF) << bits) | (b[j - 1] & 0xFF)];
+                boolean extend = next > 0;
+                run = extend ? next : 0;
+                runLength = extend ? runLength + 1 : 0;
+
+                if (run >= best.score && best.offer(run, i, j)) {
+                    best.set(run, i, j, runLength);
+                }
+            }
+        }
+
+        // Same result as findBestSubstring, skipping diagonals whose upper bound
+        // cannot reach the best score found so far. Diagonals are visited longest
+        // first so a strong score is found early. Two bounds are used:
+        //   length x max weight, and
+        //   sum over symbols c of weight(c) x min(count of c in the s1 span, count in the s2 span),
+        // the second from per-symbol prefix counts in O(alphabet) per diagonal.
+        public PrunedResult findBestSubstringPruned(PreparedString p1, PreparedString p2) {
+            byte[] a = p1.codes;
+            byte[] b = p2.codes;
+            int m = a.length;
+            int n = b.length;
+            DiagonalBest best = new DiagonalBest();
+            if (m == 0 || n == 0) {
+                return new PrunedResult(buildResult(p1.text, p2.text, 0, 0, 0, 0), 0, 0, 0);
+            }
+
+            // Only symbols present in both strings can score; a negative penalty
+            // would make mismatches score too, so the bounds do not hold
+            int[] prefix1 = prefixCounts(a);
+            int[] prefix2 = prefixCounts(b);
+            int stride1 = m + 1, stride2 = n + 1;
+            int[] shared = new int[size()];
+            int sharedCount = 0;
+            double maxWeight = 0;
+            for (int c = 0; c < size(); c++) {
+                if (prefix1[c * stride1 + m] > 0 && prefix2[c * stride2 + n] > 0 && symbolWeights[c] > 0) {
+                    shared[sharedCount++] = c;
+                    maxWeight = Math.max(maxWeight, symbolWeights[c]);
+                }
+            }
+            boolean boundsValid = penalty >= 0;
+
+            // Longest diagonals first: bucket diagonals by length, longest bucket first
+            int diagonals = m + n - 1;
+            int maxLength = Math.min(m, n);
+            int[] bucketStart = new int[maxLength + 2];
+            for (int d = 1 - m; d <= n - 1; d++) {
+                bucketStart[maxLength - diagonalLength(m, n, d) + 1]++;
+            }
+            for (int k = 1; k < bucketStart.length; k++) {
+                bucketStart[k] += bucketStart[k - 1];
+            }
+            int[] order = new int[diagonals];
+            for (int d = 1 - m; d <= n - 1; d++) {
+                order[bucketStart[maxLength - diagonalLength(m, n, d)]++] = d;
+            }
+
+            long cellsPruned = 0;
+            int diagonalsPruned = 0;
+
+            for (int d : order) {
+                int length = diagonalLength(m, n, d);
+                if (boundsValid && best.score > 0) {
+                    boolean prune = belowBest(length * maxWeight, best.score);
+                    if (!prune) {
+                        // s1 span starts at max(0, -d), s2 span at max(0, d), both of this length
+                        int from1 = Math.max(0, -d), from2 = Math.max(0, d);
+                        double bound = 0;
+                        for (int k = 0; k < sharedCount; k++) {
+                            int c = shared[k];
+                            int count1 = prefix1[c * stride1 + from1 + length] - prefix1[c * stride1 + from1];
+                            int count2 = prefix2[c * stride2 + from2 + length] - prefix2[c * stride2 + from2];
+                            bound += symbolWeights[c] * Math.min(count1, count2);
+                        }
+                        prune = belowBest(bound, best.score);
+                    }
+                    if (prune) {
+                        cellsPruned += length;
+                        diagonalsPruned++;
+                        continue;
+                    }
+                }
+                scanDiagonal(a, b, d, best);
+            }
+
+            return new PrunedResult(buildResult(p1.text, p2.text, best.score, best.i, best.j, best.length),
+                                    cellsPruned, (long) m * n - cellsPruned, diagonalsPruned);
+        }
+
+        // Strictly below, with slack for rounding: an equal score could still win a tie
+        private static boolean belowBest(double bound, double best) {
+            return bound * (1 + 1e-12) + 1e-9 < best;
+        }
+
+        private static int diagonalLength(int m, int n, int d) {
+            return Math.min(m, n - d) - Math.max(1, 1 - d) + 1;
+        }
+
+        // prefix[c * (len + 1) + k] = occurrences of symbol c in codes[0..k); characters
+        // outside the alphabet are not counted, as they never score
+        private int[] prefixCounts(byte[] codes) {
+            int stride = codes.length + 1;
+            int[] prefix = new int[size() * stride];
+            for (int k = 0; k < codes.length; k++) {
+                int code = codes[k] & 0xFF;
+                if (code < size()) {
+                    prefix[code * stride + k + 1] = 1;
+                }
+            }
+            for (int c = 0; c < size(); c++) {
+                int base = c * stride;
+                for (int k = 1; k < stride; k++) {
+                    prefix[base + k] += prefix[base + k - 1];
+                }
+            }
+            return prefix;
+        }
+
+        public SubstringResult findBestSubstringFixed(PreparedString p1, PreparedString p2) {
+            return findBestSubstringFixed(p1, p2, DEFAULT_FIXED_POINT_BITS);
+        }
+
+        // Fixed-point mode: scores rounded to multiples of 2^-fractionBits and summed
+        // as longs. Exact when weights and penalty are multiples of that step (e.g.
+        // scenario 1); otherwise rounding may pick a different near-tie.
+        public SubstringResult findBestSubstringFixed(PreparedString p1, PreparedString p2,
+                                                      int fractionBits) {
+            if (fractionBits < 0 || fractionBits > 40) {
+                throw new IllegalArgumentException("fractionBits must be in [0, 40]: " + fractionBits);
+            }
+            double scale = (double) (1L << fractionBits);
+            long[] fixed = new long[scores.length];
+            for (int k = 0; k < scores.length; k++) {
+                fixed[k] = Math.round(scores[k] * scale);
+            }
+
+            byte[] a = p1.codes;
+            byte[] b = p2.codes;
+            int m = a.length;
+            int n = b.length;
+            long maxScore = 0;
+            int maxI = 0, maxJ = 0, maxLength = 0;
+
+            for (int d = 1 - m; d <= n - 1; d++) {
+                int i = Math.max(1, 1 - d);
+                int j = i + d;
+                long run = 0;
+                int runLength = 0;
+
+                for (; i <= m && j <= n; i++, j++) {
+                    long next = run + fixed[((a[i - 1] & 0xFF) << bits) | (b[j - 1] & 0xFF)];
+                    boolean extend = next > 0;
+                    run = extend ? next : 0;
+                    runLength = extend ? runLength + 1 : 0;
+
+                    // Row-major order of the DP table decides ties
+                    if (run >= maxScore && run > 0 && (run > maxScore
+                            || i < maxI || (i == maxI && j < maxJ))) {
+                        maxScore = run;
+                        maxI = i;
+                        maxJ = j;
+                        maxLength = runLength;
+                    }
+                }
+            }
+            return buildResult(p1.text, p2.text, maxScore / scale, maxI, maxJ, maxLength);
+        }
+    }
+
+    // Extract the optimal substring ending at (maxI, maxJ) of the DP table
+    static SubstringResult buildResult(String s1, String s2, double maxScore,
+                                       int maxI, int maxJ, int maxLength) {
+        if (maxLength > 0) {
+            int start1 = maxI - maxLength;
+            int start2 = maxJ - maxLength;
+            return new SubstringResult(maxScore, start1, start2, maxLength,
+                    s1.substring(start1, maxI), s2.substring(start2, maxJ));
+        }
         return new SubstringResult(0, -1, -1, 0, "", "");
     }
 
@@ -181,6 +967,50 @@ public class WeightedSubstring {
             System.out.printf("\nWeight range [%.1f, %.1f]:\n", minWeight, maxWeight);
             runScenario(2, 10.0, minWeight, maxWeight);
         }
+
+        runLinearExperiments();
+    }
+
+    // Long strings that the full DP table cannot hold
+    private static void runLinearExperiments() {
+        System.out.println("\n\n=== LINEAR-SPACE DIAGONAL ENGINE ===\n");
+        Random rand = new Random(42); // Fixed seed for reproducibility
+        WeightedSubstring ws = new WeightedSubstring(1.0, 1.0, 10.0);
+        ScoreTable table = ws.scoreTable();
+
+        int[] lengths = {1000, 5000, 20000};
+
+        System.out.println("String Lengths   | Score    | Length | Linear(ms) | Prepared(ms) | DP Table (MB) | Match DP");
+        System.out.println("---------------------------------------------------------------------------------------------");
+
+        for (int len : lengths) {
+            String s1 = generateRandomString(len, rand);
+            String s2 = generateRandomString(len, rand);
+
+            long startTime = System.nanoTime();
+            SubstringResult result = ws.findBestSubstringLinear(s1, s2);
+            double time = (System.nanoTime() - startTime) / 1_000_000.0;
+
+            // Encoding is part of the prepared time
+            startTime = System.nanoTime();
+            SubstringResult prepared = table.findBestSubstring(table.prepare(s1), table.prepare(s2));
+            double preparedTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+            // 8 bytes of score plus 4 bytes of length per cell
+            double tableMB = (len + 1.0) * (len + 1.0) * 12 / (1024.0 * 1024.0);
+            String match = "skipped";
+            if (len <= 1000) {
+                SubstringResult expected = ws.findBestSubstring(s1, s2);
+                match = (expected.score == result.score && expected.start1 == result.start1
+                        && expected.start2 == result.start2 && expected.length == result.length
+                        && expected.score == prepared.score && expected.start1 == prepared.start1
+                        && expected.start2 == prepared.start2 && expected.length == prepared.length)
+                        ? "YES" : "NO";
+            }
+
+            System.out.printf("%6d x %6d  | %8.2f | %6d | %10.3f | %12.3f | %13.1f | %s\n",
+                    len, len, result.score, result.length, time, preparedTime, tableMB, match);
+        }
     }
 
     private static void runScenario(int scenario, double penalty,
@@ -191,6 +1021,14 @@ public class WeightedSubstring {
         int[] lengths1 = {50, 100, 200, 500, 1000};
         int[] lengths2 = {50, 100, 200, 500, 1000};
 
+        // Weights depend only on the scenario, so they are computed once
+        WeightedSubstring ws;
+        if (scenario == 1) {
+            ws = new WeightedSubstring(1, penalty);
+        } else {
+            ws = new WeightedSubstring(penalty, minWeight, maxWeight);
+        }
+
         System.out.println("String Lengths | Avg Score | Avg Length | Avg Time(ms)");
         System.out.println("--------------------------------------------------------");
 
@@ -207,13 +1045,6 @@ public class WeightedSubstring {
                     String s1 = generateRandomString(len1, rand);
                     String s2 = generateRandomString(len2, rand);
 
-                    WeightedSubstring ws;
-                    if (scenario == 1) {
-                        ws = new WeightedSubstring(1, penalty);
-                    } else {
-                        ws = new WeightedSubstring(penalty, minWeight, maxWeight);
-                    }
-
                     long startTime = System.nanoTime();
                     SubstringResult result = ws.findBestSubstring(s1, s2);
                     long endTime = System.nanoTime();
@@ -243,7 +1074,190 @@ public class WeightedSubstring {
         System.out.println();
     }
 
+    // Pruning on random strings and on strings whose backgrounds share few letters
+    public static void runPruningExperiments() {
+        System.out.println("\n\n=== DIAGONAL PRUNING ===\n");
+        Random rand = new Random(42); // Fixed seed for reproducibility
+        WeightedSubstring ws = new WeightedSubstring(10.0, 1.0, 10.0);
+        ScoreTable table = ws.scoreTable();
+
+        int[] lengths = {1000, 5000, 20000};
+        String[] layouts = {"random", "planted"};
+
+        System.out.println("Layout   | String Lengths  | Score    | Pruned (%) | Full(ms)  | Pruned(ms) | Match");
+        System.out.println("--------------------------------------------------------------------------------------");
+
+        for (String layout : layouts) {
+            for (int len : lengths) {
+                String s1, s2;
+                if (layout.equals("random")) {
+                    s1 = generateRandomString(len, rand);
+                    s2 = generateRandomString(len, rand);
+                } else {
+                    // s1 drawn from A-M, s2 from N-Z, with a shared 40-letter block on the main diagonal
+                    String block = generateRandomString(40, rand);
+                    s1 = plant(generateRandomString(len, rand, 'A', 13), block, len / 2);
+                    s2 = plant(generateRandomString(len, rand, 'N', 13), block, len / 2);
+                }
+                PreparedString p1 = table.prepare(s1);
+                PreparedString p2 = table.prepare(s2);
+
+                long startTime = System.nanoTime();
+                SubstringResult expected = table.findBestSubstring(p1, p2);
+                double fullTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+                startTime = System.nanoTime();
+                PrunedResult pruned = table.findBestSubstringPruned(p1, p2);
+                double prunedTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+                SubstringResult result = pruned.result;
+                boolean match = expected.score == result.score && expected.start1 == result.start1
+                        && expected.start2 == result.start2 && expected.length == result.length;
+                System.out.printf("%-8s | %6d x %6d | %8.2f | %10.1f | %9.3f | %10.3f | %s\n",
+                        layout, len, len, result.score,
+                        100.0 * pruned.cellsPruned / ((double) len * len),
+                        fullTime, prunedTime, match ? "YES" : "NO");
+            }
+        }
+    }
+
+    // Random string over count letters starting at first
+    private static String generateRandomString(int length, Random rand, char first, int count) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append((char)(first + rand.nextInt(count)));
+        }
+        return sb.toString();
+    }
+
+    private static String plant(String s, String block, int at) {
+        return s.substring(0, at) + block + s.substring(Math.min(s.length(), at + block.length()));
+    }
+
+    // Scaling benchmark: speedup of the parallel diagonal engine per thread count
+    public static void runParallelExperiments() {
+        System.out.println("\n\n=== PARALLEL DIAGONAL ENGINE SCALING ===\n");
+        Random rand = new Random(42); // Fixed seed for reproducibility
+        WeightedSubstring ws = new WeightedSubstring(1.0, 1.0, 10.0);
+
+        int[] lengths = {2000, 10000, 20000};
+        List<Integer> threadCounts = new ArrayList<>();
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int t = 1; t < cores; t *= 2) {
+            threadCounts.add(t);
+        }
+        threadCounts.add(cores);
+
+        System.out.println("String Lengths   | Threads | Score    | Time(ms)  | Speedup");
+        System.out.println("-------------------------------------------------------------");
+
+        for (int len : lengths) {
+            String s1 = generateRandomString(len, rand);
+            String s2 = generateRandomString(len, rand);
+            SubstringResult expected = ws.findBestSubstringLinear(s1, s2);
+            double baseline = 0;
+
+            for (int threads : threadCounts) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                try {
+                    long startTime = System.nanoTime();
+                    SubstringResult result = ws.findBestSubstringParallel(s1, s2, pool);
+                    double time = (System.nanoTime() - startTime) / 1_000_000.0;
+
+                    if (result.score != expected.score || result.start1 != expected.start1
+                            || result.start2 != expected.start2 || result.length != expected.length) {
+                        throw new IllegalStateException("Parallel result differs:\n" + result);
+                    }
+                    if (threads == 1) {
+                        baseline = time;
+                    }
+                    System.out.printf("%6d x %6d  | %7d | %8.2f | %9.3f | %6.2fx\n",
+                            len, len, threads, result.score, time, baseline / time);
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        }
+    }
+
+    // Top-K sweep against the single-best linear engine; re-running that engine K times
+    // with earlier results masked out would cost about K times its column
+    public static void runTopExperiments() {
+        System.out.println("\n\n=== TOP-K SEGMENT PAIRS ===\n");
+        Random rand = new Random(42); // Fixed seed for reproducibility
+        WeightedSubstring ws = new WeightedSubstring(10.0, 1.0, 10.0);
+
+        int[] lengths = {1000, 5000, 10000};
+        int k = 10;
+
+        System.out.println("String Lengths   | Best(ms)  | Top-" + k + "(ms) | Non-overlap(ms) | Top Score | " + k + "th Score");
+        System.out.println("----------------------------------------------------------------------------------------");
+
+        for (int len : lengths) {
+            String s1 = generateRandomString(len, rand);
+            String s2 = generateRandomString(len, rand);
+
+            long startTime = System.nanoTime();
+            SubstringResult best = ws.findBestSubstringLinear(s1, s2);
+            double bestTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+            startTime = System.nanoTime();
+            List<SubstringResult> top = ws.findTopSubstrings(s1, s2, k, false);
+            double topTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+            startTime = System.nanoTime();
+            List<SubstringResult> disjoint = ws.findTopSubstrings(s1, s2, k, true);
+            double disjointTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+            if (top.get(0).score != best.score || disjoint.get(0).score != best.score) {
+                throw new IllegalStateException("Top-K result differs from best:\n" + top.get(0));
+            }
+            System.out.printf("%6d x %6d  | %9.3f | %11.3f | %15.3f | %9.2f | %8.2f\n",
+                    len, len, bestTime, topTime, disjointTime, best.score, top.get(top.size() - 1).score);
+        }
+    }
+
+    // Match-mask engine against the per-cell linear engine, uniform weights (scenario 1)
+    public static void runUniformExperiments() {
+        System.out.println("\n\n=== UNIFORM-WEIGHT MATCH-MASK ENGINE ===\n");
+        Random rand = new Random(42); // Fixed seed for reproducibility
+
+        int[] lengths = {1000, 5000, 20000};
+        int[] alphabets = {4, 26};
+
+        System.out.println("String Lengths   | Penalty | Alphabet | Score    | Linear(ms) | Match-mask(ms) | Speedup | Match");
+        System.out.println("--------------------------------------------------------------------------------------------------");
+
+        for (double penalty : new double[] {10.0, 1.0}) {
+            WeightedSubstring ws = new WeightedSubstring(1, penalty);
+            for (int alphabet : alphabets) {
+                for (int len : lengths) {
+                    String s1 = generateRandomString(len, rand, 'A', alphabet);
+                    String s2 = generateRandomString(len, rand, 'A', alphabet);
+
+                    long startTime = System.nanoTime();
+                    SubstringResult expected = ws.findBestSubstringLinear(s1, s2);
+                    double linearTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+                    startTime = System.nanoTime();
+                    SubstringResult result = ws.findBestSubstringUniform(s1, s2);
+                    double maskTime = (System.nanoTime() - startTime) / 1_000_000.0;
+
+                    boolean match = result.score == expected.score && result.start1 == expected.start1
+                            && result.start2 == expected.start2 && result.length == expected.length;
+                    System.out.printf("%6d x %6d  | %7.1f | %8d | %8.2f | %10.3f | %14.3f | %6.2fx | %s\n",
+                            len, len, penalty, alphabet, result.score, linearTime, maskTime,
+                            linearTime / maskTime, match ? "YES" : "NO");
+                }
+            }
+        }
+    }
+
     public static void main(String[] args) {
         runExperiments();
+        runPruningExperiments();
+        runParallelExperiments();
+        runTopExperiments();
+        runUniformExperiments();
     }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.*;
+import org.openjdk.jmh.results.format.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+// Runs all benchmarks with the GC profiler (bytes/op next to ns/op) and writes
+// JSON results. Any standard JMH option overrides the defaults, e.g.
+//   java -jar benchmarks/target/benchmarks.jar ZeroSquare -p size=1000x1000 -rff out.json
+public class BenchmarkRunner {
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+
+        // Informational options do not run anything, as in org.openjdk.jmh.Main
+        if (commandLine.shouldHelp()) {
+            commandLine.showHelp();
+            return;
+        }
+        if (commandLine.shouldListProfilers()) {
+            ProfilerFactory.listProfilers(System.out);
+            return;
+        }
+        if (commandLine.shouldListResultFormats()) {
+            StringBuilder formats = new StringBuilder();
+            for (ResultFormatType format : ResultFormatType.values()) {
+                if (formats.length() > 0) formats.append(", ");
+                formats.append(format.toString().toLowerCase());
+            }
+            System.out.println("Available formats: " + formats);
+            return;
+        }
+
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON);
+        if (commandLine.getIncludes().isEmpty()) {
+            builder.include("benchmarks\\..*");
+        }
+        if (!commandLine.getResult().hasValue()) {
+            builder.result("jmh-result.json");
+        }
+
+        Runner runner = new Runner(builder.build());
+        if (commandLine.shouldList()) {
+            runner.list();
+        } else if (commandLine.shouldListWithParams()) {
+            runner.listWithParams(commandLine);
+        } else {
+            runner.run();
+        }
+    }
+}
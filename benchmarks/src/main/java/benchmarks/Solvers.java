@@ -0,0 +1,126 @@
+package benchmarks;
+
+import java.lang.invoke.*;
+import java.util.*;
+
+// JMH refuses benchmark classes in the default package, and named packages cannot
+// import default-package classes, so the solvers are bound here by name once.
+// The handles are static final, which lets the JIT inline them like direct calls.
+final class Solvers {
+    static final MethodHandle GENERATE_MATRIX;    // (int, int, double, Random) -> byte[][]
+    static final MethodHandle FIND_ZERO_SQUARE;   // (byte[][]) -> MatrixResult
+    static final MethodHandle FIND_ZERO_SQUARE_ROLLING;
+    static final MethodHandle FIND_ZERO_SQUARE_VECTORIZED;
+    static final MethodHandle GENERATE_CLUSTERED; // (int, int, int pockets, int maxSide, Random) -> byte[][]
+    static final MethodHandle ENCODE_ZERO_RUNS;   // (byte[][]) -> int[][]
+    static final MethodHandle FIND_ZERO_SQUARE_RUNS;  // (int[][] zeroRuns, int n) -> MatrixResult
+    static final MethodHandle GENERATE_STRING;    // (int, Random) -> String
+    static final MethodHandle NEW_UNIFORM;        // (int scenario, double penalty) -> WeightedSubstring
+    static final MethodHandle NEW_PROPORTIONAL;   // (double penalty, double min, double max) -> WeightedSubstring
+    static final MethodHandle FIND_SUBSTRING;     // (WeightedSubstring, String, String) -> SubstringResult
+    static final MethodHandle SUBSTRING_SOLVER;   // (WeightedSubstring) -> SubstringSolver of the calling thread
+    static final MethodHandle SOLVE_SUBSTRING;    // (SubstringSolver, CharSequence, CharSequence) -> SubstringSpan
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            Class<?> matrix = Class.forName("LargestZeroSubMatrix");
+            Class<?> weighted = Class.forName("WeightedSubstring");
+            Class<?> reusable = Class.forName("SubstringSolver");
+
+            GENERATE_MATRIX = lookup.unreflect(matrix.getMethod("generateRandomMatrix",
+                    int.class, int.class, double.class, Random.class));
+            FIND_ZERO_SQUARE = zeroSquareSolver(lookup, matrix, "findLargestZeroSquare");
+            FIND_ZERO_SQUARE_ROLLING = zeroSquareSolver(lookup, matrix, "findLargestZeroSquareRolling");
+            FIND_ZERO_SQUARE_VECTORIZED = zeroSquareSolver(lookup, matrix, "findLargestZeroSquareVectorized");
+            GENERATE_CLUSTERED = lookup.unreflect(matrix.getMethod("generateClusteredMatrix",
+                    int.class, int.class, int.class, int.class, Random.class));
+            ENCODE_ZERO_RUNS = lookup.unreflect(matrix.getMethod("encodeZeroRuns", byte[][].class));
+            FIND_ZERO_SQUARE_RUNS = lookup.unreflect(matrix.getMethod("findLargestZeroSquareRuns",
+                    int[][].class, int.class))
+                    .asType(MethodType.methodType(Object.class, int[][].class, int.class));
+            GENERATE_STRING = lookup.unreflect(weighted.getMethod("generateRandomString",
+                    int.class, Random.class));
+            NEW_UNIFORM = lookup.unreflectConstructor(weighted.getConstructor(int.class, double.class))
+                    .asType(MethodType.methodType(Object.class, int.class, double.class));
+            NEW_PROPORTIONAL = lookup.unreflectConstructor(weighted.getConstructor(
+                    double.class, double.class, double.class))
+                    .asType(MethodType.methodType(Object.class, double.class, double.class, double.class));
+            FIND_SUBSTRING = lookup.unreflect(weighted.getMethod("findBestSubstring", String.class, String.class))
+                    .asType(MethodType.methodType(Object.class, Object.class, String.class, String.class));
+            SUBSTRING_SOLVER = lookup.unreflect(weighted.getMethod("solver"))
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            SOLVE_SUBSTRING = lookup.unreflect(reusable.getMethod("solve", CharSequence.class, CharSequence.class))
+                    .asType(MethodType.methodType(Object.class, Object.class, String.class, String.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Solvers() {
+    }
+
+    private static MethodHandle zeroSquareSolver(MethodHandles.Lookup lookup, Class<?> matrix, String name)
+            throws ReflectiveOperationException {
+        return lookup.unreflect(matrix.getMethod(name, byte[][].class))
+                .asType(MethodType.methodType(Object.class, byte[][].class));
+    }
+
+    static byte[][] generateRandomMatrix(int m, int n, double zeroProbability, Random rand) {
+        try {
+            return (byte[][]) GENERATE_MATRIX.invokeExact(m, n, zeroProbability, rand);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static byte[][] generateClusteredMatrix(int m, int n, int pockets, int maxPocketSize, Random rand) {
+        try {
+            return (byte[][]) GENERATE_CLUSTERED.invokeExact(m, n, pockets, maxPocketSize, rand);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static int[][] encodeZeroRuns(byte[][] matrix) {
+        try {
+            return (int[][]) ENCODE_ZERO_RUNS.invokeExact(matrix);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static String generateRandomString(int length, Random rand) {
+        try {
+            return (String) GENERATE_STRING.invokeExact(length, rand);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // "uniform" for scenario 1, otherwise "min-max" for the proportional weight range
+    static Object newWeightedSubstring(String weights, double penalty) {
+        try {
+            if (weights.equals("uniform")) {
+                return (Object) NEW_UNIFORM.invokeExact(1, penalty);
+            }
+            String[] range = weights.split("-");
+            return (Object) NEW_PROPORTIONAL.invokeExact(penalty,
+                    Double.parseDouble(range[0]), Double.parseDouble(range[1]));
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // Parse "m x n" style parameters such as "100x1000"
+    static int[] dimensions(String spec) {
+        String[] parts = spec.split("x");
+        return new int[] {Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim())};
+    }
+
+    static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException) return (RuntimeException) t;
+        if (t instanceof Error) throw (Error) t;
+        return new RuntimeException(t);
+    }
+}
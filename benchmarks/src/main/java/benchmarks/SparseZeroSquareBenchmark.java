@@ -0,0 +1,58 @@
+package benchmarks;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+// Dense DP against the run-length solver on 2000 x 2000 layouts: "random-p" has
+// uniform zeros with probability p, "clustered-k-s" is all ones with k zero pockets
+// of side up to s. Encoding is measured separately since callers may already hold runs.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SparseZeroSquareBenchmark {
+    @Param({"random-0.01", "random-0.05", "random-0.2", "random-0.5", "random-0.7",
+            "clustered-20-100", "clustered-200-30", "clustered-2000-10"})
+    public String layout;
+
+    @Param({"2000x2000"})
+    public String size;
+
+    private byte[][] matrix;
+    private int[][] zeroRuns;
+    private int n;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[] dims = Solvers.dimensions(size);
+        n = dims[1];
+        Random rand = new Random(42);
+        String[] parts = layout.split("-");
+        if (parts[0].equals("random")) {
+            matrix = Solvers.generateRandomMatrix(dims[0], n, Double.parseDouble(parts[1]), rand);
+        } else {
+            matrix = Solvers.generateClusteredMatrix(dims[0], n,
+                    Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), rand);
+        }
+        zeroRuns = Solvers.encodeZeroRuns(matrix);
+    }
+
+    @Benchmark
+    public Object dense() throws Throwable {
+        return (Object) Solvers.FIND_ZERO_SQUARE.invokeExact(matrix);
+    }
+
+    @Benchmark
+    public Object runs() throws Throwable {
+        return (Object) Solvers.FIND_ZERO_SQUARE_RUNS.invokeExact(zeroRuns, n);
+    }
+
+    @Benchmark
+    public Object encodeAndRuns() throws Throwable {
+        return (Object) Solvers.FIND_ZERO_SQUARE_RUNS.invokeExact(Solvers.encodeZeroRuns(matrix), n);
+    }
+}
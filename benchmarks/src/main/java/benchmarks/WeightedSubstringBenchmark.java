@@ -0,0 +1,50 @@
+package benchmarks;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+// WeightedSubstring.findBestSubstring over the runScenario string lengths,
+// penalties and weight ranges ("uniform" is scenario 1), and the same search
+// through a reusable SubstringSolver (compare gc.alloc.rate.norm)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class WeightedSubstringBenchmark {
+    @Param({"50x50", "50x1000", "200x200", "1000x200", "1000x1000"})
+    public String lengths;
+
+    @Param({"10.0"})
+    public double penalty;
+
+    @Param({"uniform", "1.0-1.0", "1.0-5.5", "1.0-10.0"})
+    public String weights;
+
+    private Object solver;
+    private String s1, s2;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[] dims = Solvers.dimensions(lengths);
+        Random rand = new Random(42);
+        s1 = Solvers.generateRandomString(dims[0], rand);
+        s2 = Solvers.generateRandomString(dims[1], rand);
+        solver = Solvers.newWeightedSubstring(weights, penalty);
+    }
+
+    @Benchmark
+    public Object findBestSubstring() throws Throwable {
+        return (Object) Solvers.FIND_SUBSTRING.invokeExact(solver, s1, s2);
+    }
+
+    @Benchmark
+    public Object reusableSolver() throws Throwable {
+        // Looked up per call: the solver belongs to the benchmark thread
+        Object reusable = (Object) Solvers.SUBSTRING_SOLVER.invokeExact(solver);
+        return (Object) Solvers.SOLVE_SUBSTRING.invokeExact(reusable, s1, s2);
+    }
+}
@@ -0,0 +1,34 @@
+package benchmarks;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+// LargestZeroSubMatrix.findLargestZeroSquare over the runExperiments size table
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ZeroSquareBenchmark {
+    @Param({"10x10", "10x100", "10x1000", "100x1000", "1000x1000"})
+    public String size;
+
+    @Param({"0.7", "0.95"})
+    public double zeroProbability;
+
+    private byte[][] matrix;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[] dims = Solvers.dimensions(size);
+        matrix = Solvers.generateRandomMatrix(dims[0], dims[1], zeroProbability, new Random(42));
+    }
+
+    @Benchmark
+    public Object findLargestZeroSquare() throws Throwable {
+        return (Object) Solvers.FIND_ZERO_SQUARE.invokeExact(matrix);
+    }
+}
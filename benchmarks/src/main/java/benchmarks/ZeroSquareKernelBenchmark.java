@@ -0,0 +1,45 @@
+package benchmarks;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+// Row kernels for the zero-square DP: the original full-table kernel, the scalar
+// rolling-row kernel and the Vector API kernel
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class ZeroSquareKernelBenchmark {
+    @Param({"100x1000", "1000x1000", "2000x2000"})
+    public String size;
+
+    @Param({"0.7", "0.95"})
+    public double zeroProbability;
+
+    private byte[][] matrix;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[] dims = Solvers.dimensions(size);
+        matrix = Solvers.generateRandomMatrix(dims[0], dims[1], zeroProbability, new Random(42));
+    }
+
+    @Benchmark
+    public Object fullTable() throws Throwable {
+        return (Object) Solvers.FIND_ZERO_SQUARE.invokeExact(matrix);
+    }
+
+    @Benchmark
+    public Object rollingScalar() throws Throwable {
+        return (Object) Solvers.FIND_ZERO_SQUARE_ROLLING.invokeExact(matrix);
+    }
+
+    @Benchmark
+    public Object vectorized() throws Throwable {
+        return (Object) Solvers.FIND_ZERO_SQUARE_VECTORIZED.invokeExact(matrix);
+    }
+}